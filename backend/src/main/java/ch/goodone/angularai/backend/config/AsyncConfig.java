@@ -0,0 +1,70 @@
+package ch.goodone.angularai.backend.config;
+
+import ch.goodone.angularai.backend.service.RequestForensics;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.Map;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String AUDIT_EXECUTOR = "auditExecutor";
+    public static final String PARSER_EXECUTOR = "parserExecutor";
+
+    @Bean(name = AUDIT_EXECUTOR)
+    public MonitoredTaskExecutor auditExecutor(@Value("${app.async.audit.pool-size:8}") int poolSize,
+                                               @Value("${app.async.audit.queue-capacity:500}") int queueCapacity) {
+        MonitoredTaskExecutor executor = new MonitoredTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadFactory(Thread.ofVirtual().name(AUDIT_EXECUTOR + "-", 0).factory());
+        executor.setTaskDecorator(contextPropagatingDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Platform threads for CPU bound task parsing; when the queue is full the request thread parses itself.
+     */
+    @Bean(name = PARSER_EXECUTOR)
+    public MonitoredTaskExecutor parserExecutor(@Value("${app.async.parser.pool-size:4}") int poolSize,
+                                                @Value("${app.async.parser.queue-capacity:100}") int queueCapacity) {
+        MonitoredTaskExecutor executor = new MonitoredTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(PARSER_EXECUTOR + "-");
+        executor.setTaskDecorator(contextPropagatingDecorator());
+        return executor;
+    }
+
+    static TaskDecorator contextPropagatingDecorator() {
+        return task -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            Runnable withForensics = RequestForensics.propagate(task);
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    withForensics.run();
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package ch.goodone.angularai.backend.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the authenticated {@link ch.goodone.angularai.backend.model.User} into a controller method parameter.
+ * See {@link CurrentUserArgumentResolver}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+
+    /**
+     * Whether to reject the request when no user is authenticated; otherwise {@code null} is passed.
+     */
+    boolean required() default true;
+}
@@ -0,0 +1,72 @@
+package ch.goodone.angularai.backend.config;
+
+import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentUser} parameters once per request. When the principal carries the user id, a lazy reference
+ * is returned that only hits the database if a property other than the id is read; otherwise the user is looked up by
+ * login.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrentUserArgumentResolver.class);
+
+    static final String ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".user";
+
+    private final UserRepository userRepository;
+
+    public CurrentUserArgumentResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class) && User.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  @NonNull NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        boolean required = parameter.getParameterAnnotation(CurrentUser.class).required();
+        Object cached = webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return cached;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            if (required) {
+                throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+            }
+            return null;
+        }
+        User user = authentication.getPrincipal() instanceof AuthenticatedUser principal && principal.getId() != null
+                ? userRepository.getReferenceById(principal.getId())
+                : userRepository.findByLogin(authentication.getName()).orElse(null);
+        if (user == null) {
+            logger.warn("Authenticated user {} no longer exists", authentication.getName());
+            if (required) {
+                throw new UsernameNotFoundException("User not found");
+            }
+            return null;
+        }
+        webRequest.setAttribute(ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+}
@@ -0,0 +1,245 @@
+package ch.goodone.angularai.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets shared by all instances through the {@code rate_limit_buckets} table. Each instance keeps a near-cache
+ * of the buckets it serves and answers from memory, writing its local consumption back with a compare-and-swap on the
+ * row version once the cached state is older than the sync interval.
+ * <p>
+ * Between syncs an instance spends from the balance it last saw without seeing what the others spend, so a burst
+ * across N instances can be granted up to N &times; capacity before the table catches up; the resulting debt is paid
+ * back before new requests pass. The local share bounds this: an instance syncs early once it has spent that share of
+ * the balance it last saw, which limits the overshoot to about N &times; share &times; capacity at the price of a table
+ * round trip per request while a client is close to its limit. The default share of 0.1 makes low-capacity limits
+ * such as logins consult the table on every request, while high-throughput limits still mostly answer from memory; a
+ * share of 1 restores full local spending for limits that tolerate the overshoot. A sync interval of zero makes every
+ * request consult the table.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limiting.backend", havingValue = "jdbc")
+public class JdbcRateLimiter implements RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcRateLimiter.class);
+
+    private static final int MAX_CAS_ATTEMPTS = 5;
+
+    private static final String SELECT_SQL = "SELECT tokens, refilled_at, version FROM rate_limit_buckets WHERE bucket_key = ?";
+    private static final String INSERT_SQL = "INSERT INTO rate_limit_buckets (bucket_key, tokens, refilled_at, version) VALUES (?, ?, ?, 0)";
+    private static final String UPDATE_SQL = "UPDATE rate_limit_buckets SET tokens = ?, refilled_at = ?, version = version + 1 "
+            + "WHERE bucket_key = ? AND version = ?";
+    private static final String PURGE_SQL = "DELETE FROM rate_limit_buckets WHERE refilled_at < ?";
+
+    private record Row(double tokens, long refilledAt, long version) {
+    }
+
+    /**
+     * Locally known state of a shared bucket. {@code tokens} is what the table held at the last sync, refilled up to
+     * {@code refilledAt} and reduced by the {@code pending} requests granted here since. {@code budget} is what may
+     * still be spent before the next sync.
+     */
+    private static final class CachedBucket {
+        private double tokens;
+        private long refilledAt;
+        private long syncedAt = -1;
+        private long pending;
+        private double budget;
+        private boolean syncing;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RateLimitBucketStore<CachedBucket> buckets;
+    private final long syncIntervalMillis;
+    private final double localShare;
+    private final long idleTimeoutMillis;
+    private final int maxClients;
+    private final Clock clock;
+    private final AtomicLong syncs = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong syncFailures = new AtomicLong();
+
+    @Autowired
+    public JdbcRateLimiter(JdbcTemplate jdbcTemplate,
+                           @Value("${app.rate-limiting.max-clients:10000}") int maxClients,
+                           @Value("${app.rate-limiting.idle-timeout-ms:600000}") long idleTimeoutMs,
+                           @Value("${app.rate-limiting.jdbc.sync-interval-ms:1000}") long syncIntervalMs,
+                           @Value("${app.rate-limiting.jdbc.local-share:0.1}") double localShare) {
+        this(jdbcTemplate, maxClients, idleTimeoutMs, syncIntervalMs, localShare, Clock.systemUTC());
+    }
+
+    JdbcRateLimiter(JdbcTemplate jdbcTemplate, int maxClients, long idleTimeoutMs, long syncIntervalMs, double localShare,
+                    Clock clock) {
+        if (localShare <= 0 || localShare > 1) {
+            throw new IllegalArgumentException("Local share must be in (0, 1]: " + localShare);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxClients = maxClients;
+        this.idleTimeoutMillis = idleTimeoutMs;
+        this.syncIntervalMillis = syncIntervalMs;
+        this.localShare = localShare;
+        this.clock = clock;
+        this.buckets = new RateLimitBucketStore<>(maxClients, Duration.ofMillis(idleTimeoutMs), clock);
+    }
+
+    @Override
+    public boolean tryConsume(RateLimitingFilter.EndpointLimit limit, String client) {
+        String key = limit.pathPrefix() + '|' + client;
+        CachedBucket bucket = buckets.get(key, limit.period(), CachedBucket::new);
+        long now = clock.millis();
+        long pending;
+        synchronized (bucket) {
+            bucket.tokens = refill(limit, bucket.tokens, bucket.refilledAt, now);
+            bucket.refilledAt = now;
+            boolean due = bucket.syncedAt < 0 || now - bucket.syncedAt >= syncIntervalMillis
+                    || (bucket.budget < 1 && bucket.tokens >= 1);
+            if (!due || bucket.syncing) {
+                // Other instances only ever take tokens away, so a local shortage is a shortage of the shared bucket too.
+                // Requests arriving while another thread syncs are counted as pending and written back with the next sync.
+                return consumeLocally(limit, bucket, now);
+            }
+            bucket.syncing = true;
+            pending = bucket.pending;
+        }
+
+        // The table round trip runs without the bucket lock, so it does not stall the other requests of this client
+        Double available;
+        try {
+            available = sync(key, limit, pending, now);
+        } catch (RuntimeException e) {
+            synchronized (bucket) {
+                bucket.syncing = false;
+            }
+            throw e;
+        }
+        synchronized (bucket) {
+            bucket.syncing = false;
+            if (available == null) {
+                // Keep serving from the local state and try again after the next interval rather than on every request
+                syncFailures.incrementAndGet();
+                bucket.syncedAt = now;
+                bucket.budget = Double.MAX_VALUE;
+                return consumeLocally(limit, bucket, now);
+            }
+            boolean granted = available >= 1;
+            double remaining = granted ? available - 1 : available;
+            long grantedMeanwhile = bucket.pending - pending;
+            bucket.tokens = remaining - grantedMeanwhile;
+            bucket.refilledAt = now;
+            bucket.syncedAt = now;
+            bucket.pending = grantedMeanwhile;
+            bucket.budget = Math.max(0, remaining) * localShare - grantedMeanwhile;
+            return granted;
+        }
+    }
+
+    private boolean consumeLocally(RateLimitingFilter.EndpointLimit limit, CachedBucket bucket, long now) {
+        bucket.tokens = refill(limit, bucket.tokens, bucket.refilledAt, now);
+        bucket.refilledAt = now;
+        if (bucket.tokens < 1) {
+            return false;
+        }
+        bucket.tokens--;
+        bucket.pending++;
+        bucket.budget--;
+        return true;
+    }
+
+    /**
+     * Writes the {@code pending} local requests and, if possible, one more back to the table.
+     *
+     * @return the tokens that were left for this request after the pending ones; {@code null} if the table could not
+     * be synced
+     */
+    private Double sync(String key, RateLimitingFilter.EndpointLimit limit, long pending, long now) {
+        try {
+            for (int attempt = 0; attempt < MAX_CAS_ATTEMPTS; attempt++) {
+                Row row = findRow(key);
+                double available = row == null
+                        ? limit.capacity() - pending
+                        : refill(limit, row.tokens(), row.refilledAt(), now) - pending;
+                double tokens = available >= 1 ? available - 1 : available;
+                if (row == null ? insert(key, tokens, now) : update(key, tokens, now, row.version())) {
+                    syncs.incrementAndGet();
+                    return available;
+                }
+                conflicts.incrementAndGet();
+            }
+            logger.warn("Could not sync rate limit bucket {} after {} attempts", key, MAX_CAS_ATTEMPTS);
+        } catch (DataAccessException e) {
+            logger.warn("Could not sync rate limit bucket {}: {}", key, e.getMessage());
+        }
+        return null;
+    }
+
+    private Row findRow(String key) {
+        List<Row> rows = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new Row(rs.getDouble(1), rs.getLong(2), rs.getLong(3)), key);
+        return rows.isEmpty() ? null : rows.getFirst();
+    }
+
+    private boolean insert(String key, double tokens, long now) {
+        try {
+            return jdbcTemplate.update(INSERT_SQL, key, tokens, now) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private boolean update(String key, double tokens, long now, long version) {
+        return jdbcTemplate.update(UPDATE_SQL, tokens, now, key, version) == 1;
+    }
+
+    // Tokens may be negative after instances overshot between syncs; the debt is paid back before new requests pass
+    private static double refill(RateLimitingFilter.EndpointLimit limit, double tokens, long refilledAt, long now) {
+        long elapsed = Math.max(0, now - refilledAt);
+        double refilled = tokens + (double) elapsed * limit.capacity() / limit.period().toMillis();
+        return Math.min(limit.capacity(), refilled);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limiting.jdbc.purge-interval-ms:600000}")
+    public void scheduledPurge() {
+        purgeIdleBuckets();
+    }
+
+    /**
+     * Deletes rows no instance has synced for longer than the idle timeout, which should therefore not be shorter
+     * than the longest limit period.
+     */
+    public int purgeIdleBuckets() {
+        int deleted = jdbcTemplate.update(PURGE_SQL, clock.millis() - idleTimeoutMillis);
+        if (deleted > 0) {
+            logger.debug("Purged {} idle rate limit buckets", deleted);
+        }
+        return deleted;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("backend", "jdbc");
+        stats.put("clients", buckets.size());
+        stats.put("maxClients", maxClients);
+        stats.put("evictions", buckets.getEvictionCount());
+        stats.put("expirations", buckets.getExpirationCount());
+        stats.put("syncs", syncs.get());
+        stats.put("conflicts", conflicts.get());
+        stats.put("syncFailures", syncFailures.get());
+        return stats;
+    }
+}
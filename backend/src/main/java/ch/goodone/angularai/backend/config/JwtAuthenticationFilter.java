@@ -1,12 +1,19 @@
 package ch.goodone.angularai.backend.config;
 
+import ch.goodone.angularai.backend.dto.UserAuthState;
+import ch.goodone.angularai.backend.model.Role;
 import ch.goodone.angularai.backend.service.JwtService;
+import ch.goodone.angularai.backend.service.UserStatusCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -19,12 +26,22 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Request attribute holding the verified claims of the bearer token, so later code does not parse it again.
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".claims";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
+
+    @Value("${app.security.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService, UserStatusCache userStatusCache) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.userStatusCache = userStatusCache;
     }
 
     @Override
@@ -34,17 +51,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userLogin;
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
-        jwt = authHeader.substring(7);
-        userLogin = jwtService.extractUsername(jwt);
+        final Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+        final String userLogin = claims.getSubject();
         if (userLogin != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userLogin);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            UserDetails userDetails = resolveUser(claims);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -58,4 +80,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolveUser(Claims claims) {
+        String role = claims.get(JwtService.ROLE_CLAIM, String.class);
+        if (statelessPrincipal && role != null) {
+            Long userId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+            // Authorities come from the signed claims; the cached status only decides whether the token is still honoured.
+            // The id check rejects tokens of a deleted account whose login has since been registered again.
+            boolean honoured = userStatusCache.get(claims.getSubject())
+                    .filter(UserAuthState::isActive)
+                    .filter(state -> state.id().equals(userId))
+                    .filter(state -> role.equals(state.role() != null ? state.role().name() : Role.ROLE_USER.name()))
+                    .isPresent();
+            return honoured
+                    ? new AuthenticatedUser(userId, claims.getSubject(), "", AuthorityUtils.createAuthorityList(role))
+                    : null;
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+        return jwtService.isTokenValid(claims, userDetails) ? userDetails : null;
+    }
 }
@@ -0,0 +1,58 @@
+package ch.goodone.angularai.backend.config;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Buckets held in memory of this instance only. With several instances behind a load balancer every instance grants
+ * the full limit; use {@link JdbcRateLimiter} there.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limiting.backend", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    private final RateLimitBucketStore<Bucket> buckets;
+    private final int maxClients;
+
+    @Autowired
+    public LocalRateLimiter(@Value("${app.rate-limiting.max-clients:10000}") int maxClients,
+                            @Value("${app.rate-limiting.idle-timeout-ms:600000}") long idleTimeoutMs) {
+        this(maxClients, idleTimeoutMs, Clock.systemUTC());
+    }
+
+    LocalRateLimiter(int maxClients, long idleTimeoutMs, Clock clock) {
+        this.maxClients = maxClients;
+        this.buckets = new RateLimitBucketStore<>(maxClients, Duration.ofMillis(idleTimeoutMs), clock);
+    }
+
+    @Override
+    public boolean tryConsume(RateLimitingFilter.EndpointLimit limit, String client) {
+        return buckets.get(limit.pathPrefix() + '|' + client, limit.period(), () -> createNewBucket(limit)).tryConsume(1);
+    }
+
+    private static Bucket createNewBucket(RateLimitingFilter.EndpointLimit limit) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.builder().capacity(limit.capacity()).refillGreedy(limit.capacity(), limit.period()).build())
+                .build();
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("backend", "local");
+        stats.put("clients", buckets.size());
+        stats.put("maxClients", maxClients);
+        stats.put("evictions", buckets.getEvictionCount());
+        stats.put("expirations", buckets.getExpirationCount());
+        return stats;
+    }
+}
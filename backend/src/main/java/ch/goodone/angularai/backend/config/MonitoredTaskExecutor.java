@@ -0,0 +1,40 @@
+package ch.goodone.angularai.backend.config;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded executor that runs rejected tasks on the caller and counts how often that happens.
+ */
+public class MonitoredTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    public MonitoredTaskExecutor() {
+        setRejectedExecutionHandler((task, executor) -> {
+            rejected.incrementAndGet();
+            if (!executor.isShutdown()) {
+                task.run();
+            }
+        });
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("poolSize", getPoolSize());
+        stats.put("maxPoolSize", getMaxPoolSize());
+        stats.put("activeCount", getActiveCount());
+        stats.put("queueSize", getQueueSize());
+        stats.put("queueCapacity", getQueueCapacity());
+        stats.put("completedTasks", getThreadPoolExecutor().getCompletedTaskCount());
+        stats.put("rejectedTasks", getRejectedCount());
+        return stats;
+    }
+}
@@ -0,0 +1,124 @@
+package ch.goodone.angularai.backend.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Rate limit buckets keyed by client, bounded in size and dropped once idle. Keys are spread over independently
+ * locked LRU stripes so concurrent requests rarely contend, and a flood of distinct keys only displaces the least
+ * recently seen clients instead of growing the heap.
+ */
+class RateLimitBucketStore<B> {
+
+    private static final int STRIPES = 16;
+
+    private static final class Entry<B> {
+        private final B bucket;
+        private final long idleTimeoutMillis;
+        private long lastAccessMillis;
+
+        private Entry(B bucket, long idleTimeoutMillis) {
+            this.bucket = bucket;
+            this.idleTimeoutMillis = idleTimeoutMillis;
+        }
+    }
+
+    private final List<Stripe> stripes = new ArrayList<>(STRIPES);
+    private final long idleTimeoutMillis;
+    private final Clock clock;
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    RateLimitBucketStore(int maxEntries, Duration idleTimeout, Clock clock) {
+        int stripeCapacity = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes.add(new Stripe(stripeCapacity));
+        }
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the bucket for the key, creating it when absent or idle. A bucket is never considered idle before
+     * {@code minIdle} has passed, so one dropped before its refill period would not come back full too early.
+     */
+    B get(String key, Duration minIdle, Supplier<B> factory) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes.get(Math.floorMod(hash ^ (hash >>> 16), STRIPES));
+        synchronized (stripe) {
+            return stripe.get(key, Math.max(idleTimeoutMillis, minIdle.toMillis()), factory, clock.millis());
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    long getEvictionCount() {
+        return evictions.get();
+    }
+
+    long getExpirationCount() {
+        return expirations.get();
+    }
+
+    private final class Stripe extends LinkedHashMap<String, Entry<B>> {
+
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        private B get(String key, long idleTimeout, Supplier<B> factory, long now) {
+            Entry<B> entry = get(key);
+            if (entry == null || isIdle(entry, now)) {
+                if (entry != null) {
+                    remove(key);
+                    expirations.incrementAndGet();
+                }
+                purgeIdle(now);
+                entry = new Entry<>(factory.get(), idleTimeout);
+                put(key, entry);
+            }
+            entry.lastAccessMillis = now;
+            return entry.bucket;
+        }
+
+        private boolean isIdle(Entry<B> entry, long now) {
+            return now - entry.lastAccessMillis >= entry.idleTimeoutMillis;
+        }
+
+        // Access order keeps the longest idle entries first, so only the expired head has to be visited
+        private void purgeIdle(long now) {
+            Iterator<Entry<B>> eldest = values().iterator();
+            while (eldest.hasNext() && isIdle(eldest.next(), now)) {
+                eldest.remove();
+                expirations.incrementAndGet();
+            }
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry<B>> eldest) {
+            if (size() > capacity) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ch.goodone.angularai.backend.config;
+
+import java.util.Map;
+
+/**
+ * Keeps the token buckets behind {@link RateLimitingFilter}, either per instance or shared by the cluster.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket of the client for the given endpoint limit.
+     *
+     * @return {@code false} when the client has exhausted the limit
+     */
+    boolean tryConsume(RateLimitingFilter.EndpointLimit limit, String client);
+
+    Map<String, Object> getStats();
+}
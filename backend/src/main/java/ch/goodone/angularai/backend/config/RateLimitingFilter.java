@@ -1,8 +1,5 @@
 package ch.goodone.angularai.backend.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,54 +7,92 @@ import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Limits requests per client address to the configured endpoints. The address is taken from
+ * {@link HttpServletRequest#getRemoteAddr()}, which the container already resolves from forwarded headers of trusted
+ * proxies ({@code server.forward-headers-strategy}), so a client cannot pick its own bucket by sending a header.
+ */
 @Component
 @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(name = "app.rate-limiting.enabled", havingValue = "true", matchIfMissing = true)
 public class RateLimitingFilter implements Filter {
 
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    /**
+     * Allows {@code capacity} requests per {@code period} to paths starting with {@code pathPrefix}.
+     */
+    public record EndpointLimit(String pathPrefix, long capacity, Duration period) {
 
-    private Bucket createNewBucket() {
-        Bandwidth limit = Bandwidth.classic(10, Refill.greedy(10, Duration.ofMinutes(1)));
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+        /**
+         * Parses {@code <path prefix>=<requests>/<period seconds>}, e.g. {@code /api/auth/login=10/60}.
+         */
+        static EndpointLimit parse(String spec) {
+            int eq = spec.lastIndexOf('=');
+            int slash = spec.lastIndexOf('/');
+            if (eq <= 0 || slash < eq) {
+                throw new IllegalArgumentException("Invalid rate limit '" + spec + "', expected <path>=<requests>/<seconds>");
+            }
+            return new EndpointLimit(spec.substring(0, eq).trim(),
+                    Long.parseLong(spec.substring(eq + 1, slash).trim()),
+                    Duration.ofSeconds(Long.parseLong(spec.substring(slash + 1).trim())));
+        }
+    }
+
+    private final List<EndpointLimit> limits;
+    private final Map<String, AtomicLong> rejections = new LinkedHashMap<>();
+    private final RateLimiter rateLimiter;
+
+    public RateLimitingFilter(@Value("${app.rate-limiting.limits:/api/auth/login=10/60,/api/auth/register=10/60}") List<String> limits,
+                              RateLimiter rateLimiter) {
+        this.limits = limits.stream().filter(spec -> !spec.isBlank()).map(EndpointLimit::parse).toList();
+        this.limits.forEach(limit -> rejections.put(limit.pathPrefix(), new AtomicLong()));
+        this.rateLimiter = rateLimiter;
     }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
-        
+
         HttpServletRequest httpRequest = (HttpServletRequest) request;
-        String path = httpRequest.getRequestURI();
-
-        // Rate limit sensitive endpoints
-        if (path.startsWith("/api/auth/login") || path.startsWith("/api/auth/register")) {
-            String clientIp = httpRequest.getRemoteAddr();
-            // Handle X-Forwarded-For if behind a proxy
-            String xforwardedFor = httpRequest.getHeader("X-Forwarded-For");
-            if (xforwardedFor != null && !xforwardedFor.isEmpty()) {
-                clientIp = xforwardedFor.split(",")[0];
-            }
+        EndpointLimit limit = findLimit(httpRequest.getRequestURI());
+        if (limit == null) {
+            chain.doFilter(request, response);
+            return;
+        }
 
-            Bucket bucket = buckets.computeIfAbsent(clientIp, k -> createNewBucket());
+        if (rateLimiter.tryConsume(limit, httpRequest.getRemoteAddr())) {
+            chain.doFilter(request, response);
+        } else {
+            rejections.get(limit.pathPrefix()).incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            httpResponse.getWriter().write("Too many requests");
+        }
+    }
 
-            if (bucket.tryConsume(1)) {
-                chain.doFilter(request, response);
-            } else {
-                HttpServletResponse httpResponse = (HttpServletResponse) response;
-                httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                httpResponse.getWriter().write("Too many requests");
+    private EndpointLimit findLimit(String path) {
+        for (EndpointLimit limit : limits) {
+            if (path.startsWith(limit.pathPrefix())) {
+                return limit;
             }
-        } else {
-            chain.doFilter(request, response);
         }
+        return null;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Long> rejected = new LinkedHashMap<>();
+        rejections.forEach((path, count) -> rejected.put(path, count.get()));
+        Map<String, Object> stats = new LinkedHashMap<>(rateLimiter.getStats());
+        stats.put("rejected", rejected);
+        return stats;
     }
 }
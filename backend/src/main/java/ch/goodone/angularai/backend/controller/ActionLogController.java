@@ -1,6 +1,7 @@
 package ch.goodone.angularai.backend.controller;
 
 import ch.goodone.angularai.backend.dto.ActionLogDTO;
+import ch.goodone.angularai.backend.dto.ActionLogPageDTO;
 import ch.goodone.angularai.backend.service.ActionLogService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
@@ -41,6 +42,25 @@ public class ActionLogController {
         return actionLogService.getLogs(pageable, type, startDate, endDate);
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<ActionLogPageDTO> getLogPage(
+            org.springframework.security.core.Authentication authentication,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        if (authentication != null) {
+            actionLogService.log(authentication.getName(), "LOGS_VIEWED", "User viewed action logs");
+        }
+        try {
+            return ResponseEntity.ok(actionLogService.getLogPage(type, startDate, endDate, cursor, limit, withTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping
     public ResponseEntity<Void> clearLogs() {
         actionLogService.clearLogs();
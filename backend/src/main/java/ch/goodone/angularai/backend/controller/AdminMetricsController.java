@@ -0,0 +1,74 @@
+package ch.goodone.angularai.backend.controller;
+
+import ch.goodone.angularai.backend.config.MonitoredTaskExecutor;
+import ch.goodone.angularai.backend.config.RateLimitingFilter;
+import ch.goodone.angularai.backend.service.ActionLogRetentionService;
+import ch.goodone.angularai.backend.service.ActionLogWriter;
+import ch.goodone.angularai.backend.service.GeoLocationBackfillService;
+import ch.goodone.angularai.backend.service.IpLocationService;
+import ch.goodone.angularai.backend.service.LoginAttackDetector;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static ch.goodone.angularai.backend.config.AsyncConfig.AUDIT_EXECUTOR;
+import static ch.goodone.angularai.backend.config.AsyncConfig.PARSER_EXECUTOR;
+
+@RestController
+@RequestMapping("/api/admin/metrics")
+@Tag(name = "Admin Metrics", description = "Runtime metrics of background processing for administrators")
+public class AdminMetricsController {
+
+    private final MonitoredTaskExecutor auditExecutor;
+    private final MonitoredTaskExecutor parserExecutor;
+    private final ActionLogWriter actionLogWriter;
+    private final LoginAttackDetector loginAttackDetector;
+    private final IpLocationService ipLocationService;
+    private final GeoLocationBackfillService geoLocationBackfillService;
+    private final ObjectProvider<RateLimitingFilter> rateLimitingFilter;
+    private final ActionLogRetentionService actionLogRetentionService;
+
+    public AdminMetricsController(@Qualifier(AUDIT_EXECUTOR) MonitoredTaskExecutor auditExecutor,
+                                  @Qualifier(PARSER_EXECUTOR) MonitoredTaskExecutor parserExecutor, ActionLogWriter actionLogWriter,
+                                  LoginAttackDetector loginAttackDetector, IpLocationService ipLocationService,
+                                  GeoLocationBackfillService geoLocationBackfillService,
+                                  ObjectProvider<RateLimitingFilter> rateLimitingFilter,
+                                  ActionLogRetentionService actionLogRetentionService) {
+        this.auditExecutor = auditExecutor;
+        this.parserExecutor = parserExecutor;
+        this.actionLogWriter = actionLogWriter;
+        this.loginAttackDetector = loginAttackDetector;
+        this.ipLocationService = ipLocationService;
+        this.geoLocationBackfillService = geoLocationBackfillService;
+        this.rateLimitingFilter = rateLimitingFilter;
+        this.actionLogRetentionService = actionLogRetentionService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get queue depths, throughput and rejection counts of background workers")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put(AUDIT_EXECUTOR, auditExecutor.getStats());
+        metrics.put(PARSER_EXECUTOR, parserExecutor.getStats());
+        metrics.put("actionLogWriter", Map.of(
+                "pending", actionLogWriter.getPendingCount(),
+                "written", actionLogWriter.getWrittenCount(),
+                "dropped", actionLogWriter.getDroppedCount(),
+                "failed", actionLogWriter.getFailedCount()
+        ));
+        metrics.put("loginAttackDetector", loginAttackDetector.getStats());
+        metrics.put("ipLocation", ipLocationService.getStats());
+        metrics.put("geoLocationBackfill", geoLocationBackfillService.getStats());
+        metrics.put("actionLogRetention", actionLogRetentionService.getStats());
+        rateLimitingFilter.ifAvailable(filter -> metrics.put("rateLimiting", filter.getStats()));
+        return ResponseEntity.ok(metrics);
+    }
+}
@@ -1,9 +1,11 @@
 package ch.goodone.angularai.backend.controller;
 
 import ch.goodone.angularai.backend.service.ActionLogService;
+import ch.goodone.angularai.backend.service.GeoLocationBackfillService;
 import ch.goodone.angularai.backend.service.IpLocationService;
 import ch.goodone.angularai.backend.service.SystemSettingService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,11 +28,14 @@ public class AdminSystemController {
     private final SystemSettingService systemSettingService;
     private final ActionLogService actionLogService;
     private final IpLocationService ipLocationService;
+    private final GeoLocationBackfillService geoLocationBackfillService;
 
-    public AdminSystemController(SystemSettingService systemSettingService, ActionLogService actionLogService, IpLocationService ipLocationService) {
+    public AdminSystemController(SystemSettingService systemSettingService, ActionLogService actionLogService, IpLocationService ipLocationService,
+                                 GeoLocationBackfillService geoLocationBackfillService) {
         this.systemSettingService = systemSettingService;
         this.actionLogService = actionLogService;
         this.ipLocationService = ipLocationService;
+        this.geoLocationBackfillService = geoLocationBackfillService;
     }
 
     @GetMapping("/geolocation")
@@ -46,6 +51,20 @@ public class AdminSystemController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/geolocation/backfill")
+    public ResponseEntity<Map<String, Object>> startGeolocationBackfill(Authentication authentication) {
+        if (!geoLocationBackfillService.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(geoLocationBackfillService.getStats());
+        }
+        actionLogService.log(authentication.getName(), "GEOLOCATION_BACKFILL_STARTED", "Geolocation backfill started");
+        return ResponseEntity.accepted().body(geoLocationBackfillService.getStats());
+    }
+
+    @GetMapping("/geolocation/backfill")
+    public ResponseEntity<Map<String, Object>> getGeolocationBackfillStatus() {
+        return ResponseEntity.ok(geoLocationBackfillService.getStats());
+    }
+
     @GetMapping("/recaptcha")
     public ResponseEntity<Map<String, Integer>> getRecaptchaConfigIndex() {
         return ResponseEntity.ok(Map.of("index", systemSettingService.getRecaptchaConfigIndex()));
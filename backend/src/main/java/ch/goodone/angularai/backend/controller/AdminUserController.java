@@ -5,6 +5,8 @@ import ch.goodone.angularai.backend.model.Role;
 import ch.goodone.angularai.backend.model.User;
 import ch.goodone.angularai.backend.repository.UserRepository;
 import ch.goodone.angularai.backend.service.ActionLogService;
+import ch.goodone.angularai.backend.service.DashboardCounters;
+import ch.goodone.angularai.backend.service.UserStatusCache;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -28,11 +30,16 @@ public class AdminUserController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final ActionLogService actionLogService;
+    private final UserStatusCache userStatusCache;
+    private final DashboardCounters dashboardCounters;
 
-    public AdminUserController(UserRepository userRepository, PasswordEncoder passwordEncoder, ActionLogService actionLogService) {
+    public AdminUserController(UserRepository userRepository, PasswordEncoder passwordEncoder, ActionLogService actionLogService,
+                               UserStatusCache userStatusCache, DashboardCounters dashboardCounters) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.actionLogService = actionLogService;
+        this.userStatusCache = userStatusCache;
+        this.dashboardCounters = dashboardCounters;
     }
 
     @GetMapping
@@ -70,6 +77,7 @@ public class AdminUserController {
         }
 
         userRepository.save(user);
+        dashboardCounters.userCreated(user);
         actionLogService.log(authentication.getName(), "USER_CREATED", "Admin created user: " + user.getLogin());
         return ResponseEntity.ok(UserDTO.fromEntity(user));
     }
@@ -98,11 +106,15 @@ public class AdminUserController {
                     user.setEmail(userDTO.getEmail());
                     user.setBirthDate(userDTO.getBirthDate());
                     user.setAddress(userDTO.getAddress());
+                    Role previousRole = user.getRole();
                     if (userDTO.getRole() != null) {
                         user.setRole(Role.valueOf(userDTO.getRole()));
                     }
 
                     userRepository.save(user);
+                    if (user.getRole() != previousRole) {
+                        userStatusCache.roleChanged(user.getLogin());
+                    }
                     actionLogService.log(authentication.getName(), "USER_MODIFIED", "Admin modified user: " + user.getLogin());
                     return ResponseEntity.ok(UserDTO.fromEntity(user));
                 })
@@ -122,6 +134,8 @@ public class AdminUserController {
                         return ResponseEntity.badRequest().body("Cannot delete standard system users");
                     }
                     userRepository.delete(user);
+                    userStatusCache.invalidate(user.getLogin());
+                    dashboardCounters.userDeleted(user);
                     actionLogService.log(authentication.getName(), "USER_DELETED", "Admin deleted user: " + user.getLogin());
                     return ResponseEntity.noContent().build();
                 })
@@ -1,5 +1,6 @@
 package ch.goodone.angularai.backend.controller;
 
+import ch.goodone.angularai.backend.config.CurrentUser;
 import ch.goodone.angularai.backend.dto.UserDTO;
 import ch.goodone.angularai.backend.model.PasswordRecoveryToken;
 import ch.goodone.angularai.backend.model.User;
@@ -8,6 +9,7 @@ import ch.goodone.angularai.backend.repository.PasswordRecoveryTokenRepository;
 import ch.goodone.angularai.backend.repository.UserRepository;
 import ch.goodone.angularai.backend.repository.VerificationTokenRepository;
 import ch.goodone.angularai.backend.service.ActionLogService;
+import ch.goodone.angularai.backend.service.DashboardCounters;
 import ch.goodone.angularai.backend.service.CaptchaService;
 import ch.goodone.angularai.backend.service.EmailService;
 import ch.goodone.angularai.backend.service.JwtService;
@@ -45,6 +47,7 @@ public class AuthController {
     private final JwtService jwtService;
     private final VerificationTokenRepository verificationTokenRepository;
     private final PasswordRecoveryTokenRepository passwordRecoveryTokenRepository;
+    private final DashboardCounters dashboardCounters;
 
     private static final String INVALID_VALUE = "invalid";
     private static final String ERROR_VALUE = "error";
@@ -55,7 +58,7 @@ public class AuthController {
     @org.springframework.beans.factory.annotation.Value("${app.security.jwt.enabled:false}")
     private boolean jwtEnabled;
 
-    public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder, ActionLogService actionLogService, CaptchaService captchaService, EmailService emailService, JwtService jwtService, VerificationTokenRepository verificationTokenRepository, PasswordRecoveryTokenRepository passwordRecoveryTokenRepository) {
+    public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder, ActionLogService actionLogService, CaptchaService captchaService, EmailService emailService, JwtService jwtService, VerificationTokenRepository verificationTokenRepository, PasswordRecoveryTokenRepository passwordRecoveryTokenRepository, DashboardCounters dashboardCounters) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.actionLogService = actionLogService;
@@ -64,6 +67,7 @@ public class AuthController {
         this.jwtService = jwtService;
         this.verificationTokenRepository = verificationTokenRepository;
         this.passwordRecoveryTokenRepository = passwordRecoveryTokenRepository;
+        this.dashboardCounters = dashboardCounters;
     }
 
     @PostMapping("/login")
@@ -103,7 +107,7 @@ public class AuthController {
         
         UserDTO userDTO = UserDTO.fromEntity(user);
         if (jwtEnabled && authentication.getPrincipal() instanceof org.springframework.security.core.userdetails.UserDetails) {
-            String token = jwtService.generateToken((org.springframework.security.core.userdetails.UserDetails) authentication.getPrincipal());
+            String token = jwtService.generateToken((org.springframework.security.core.userdetails.UserDetails) authentication.getPrincipal(), user.getId());
             userDTO.setToken(token);
         }
         
@@ -111,13 +115,8 @@ public class AuthController {
     }
 
     @GetMapping("/info")
-    public ResponseEntity<UserDTO> getAuthInfo(Authentication authentication) {
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return ResponseEntity.ok(null);
-        }
-        return userRepository.findByLogin(authentication.getName())
-                .map(user -> ResponseEntity.ok(UserDTO.fromEntity(user)))
-                .orElse(ResponseEntity.ok(null));
+    public ResponseEntity<UserDTO> getAuthInfo(@CurrentUser(required = false) User user) {
+        return ResponseEntity.ok(user != null ? UserDTO.fromEntity(user) : null);
     }
 
     @PostMapping("/logout")
@@ -154,6 +153,7 @@ public class AuthController {
         user.setStatus(ch.goodone.angularai.backend.model.UserStatus.PENDING);
 
         userRepository.save(user);
+        dashboardCounters.userCreated(user);
         
         VerificationToken verificationToken = new VerificationToken(user);
         verificationTokenRepository.save(verificationToken);
@@ -213,6 +213,7 @@ public class AuthController {
                 verificationTokenRepository.deleteByUser(u);
                 userRepository.delete(u);
                 userRepository.flush();
+                dashboardCounters.userDeleted(u);
             }
         });
         userRepository.findByEmail(email).ifPresent(u -> {
@@ -221,6 +222,7 @@ public class AuthController {
                 verificationTokenRepository.deleteByUser(u);
                 userRepository.delete(u);
                 userRepository.flush();
+                dashboardCounters.userDeleted(u);
             }
         });
     }
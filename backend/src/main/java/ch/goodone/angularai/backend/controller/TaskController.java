@@ -1,17 +1,22 @@
 package ch.goodone.angularai.backend.controller;
 
+import ch.goodone.angularai.backend.config.CurrentUser;
 import ch.goodone.angularai.backend.dto.TaskDTO;
+import ch.goodone.angularai.backend.dto.TaskImportResultDTO;
+import ch.goodone.angularai.backend.dto.TaskMetricsDTO;
+import ch.goodone.angularai.backend.dto.TaskPageDTO;
+import ch.goodone.angularai.backend.dto.TaskSearchResultDTO;
 import ch.goodone.angularai.backend.model.User;
-import ch.goodone.angularai.backend.repository.UserRepository;
-import ch.goodone.angularai.backend.service.ActionLogService;
+import ch.goodone.angularai.backend.service.TaskBatchAnalyzer;
+import ch.goodone.angularai.backend.service.TaskImportService;
 import ch.goodone.angularai.backend.service.TaskParserService;
 import ch.goodone.angularai.backend.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -22,8 +27,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import java.time.LocalDate;
-import java.util.HashMap;
+import java.io.Reader;
 import java.util.List;
 import java.util.Map;
 
@@ -33,21 +37,59 @@ import java.util.Map;
 public class TaskController {
 
     private final TaskService taskService;
-    private final UserRepository userRepository;
     private final TaskParserService taskParserService;
-    private final ActionLogService actionLogService;
+    private final TaskBatchAnalyzer taskBatchAnalyzer;
+    private final TaskImportService taskImportService;
 
-    public TaskController(TaskService taskService, UserRepository userRepository, TaskParserService taskParserService, ActionLogService actionLogService) {
+    public TaskController(TaskService taskService, TaskParserService taskParserService, TaskBatchAnalyzer taskBatchAnalyzer,
+                          TaskImportService taskImportService) {
         this.taskService = taskService;
-        this.userRepository = userRepository;
         this.taskParserService = taskParserService;
-        this.actionLogService = actionLogService;
+        this.taskBatchAnalyzer = taskBatchAnalyzer;
+        this.taskImportService = taskImportService;
     }
 
     @PostMapping("/analyze")
     public TaskDTO analyzeTask(@RequestBody Map<String, String> payload) {
         String input = payload.get("input");
-        TaskParserService.ParsedTask parsed = taskParserService.parse(input);
+        return toDTO(taskParserService.parse(input));
+    }
+
+    public record AnalyzeBatchRequest(List<String> lines, Boolean create) {}
+
+    @PostMapping(value = "/analyze/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Analyze many lines at once, in order and skipping blank lines, and optionally create the tasks")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Analyzed or created tasks in input order"),
+        @ApiResponse(responseCode = "400", description = "Too many lines"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<List<TaskDTO>> analyzeBatch(@RequestBody AnalyzeBatchRequest request, @CurrentUser User user) {
+        List<String> lines = request.lines() != null ? request.lines() : List.of();
+        try {
+            return ResponseEntity.ok(analyzed(taskBatchAnalyzer.analyze(lines), Boolean.TRUE.equals(request.create()), user));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping(value = "/analyze/batch", consumes = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(summary = "Analyze a plain text body with one task per line, and optionally create the tasks")
+    public ResponseEntity<List<TaskDTO>> analyzeBatchText(Reader body, @RequestParam(defaultValue = "false") boolean create,
+                                                          @CurrentUser User user) {
+        try {
+            return ResponseEntity.ok(analyzed(taskBatchAnalyzer.analyze(body), create, user));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private List<TaskDTO> analyzed(List<TaskParserService.ParsedTask> parsed, boolean create, User user) {
+        List<TaskDTO> tasks = parsed.stream().map(TaskController::toDTO).toList();
+        return create ? taskService.createTasks(user, tasks) : tasks;
+    }
+
+    private static TaskDTO toDTO(TaskParserService.ParsedTask parsed) {
         TaskDTO dto = new TaskDTO();
         dto.setTitle(parsed.title());
         dto.setDescription(parsed.description());
@@ -68,82 +110,126 @@ public class TaskController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String smartFilter,
             @RequestParam(required = false) String sort,
-            Authentication authentication) {
-        return taskService.getTasks(getCurrentUser(authentication), status, smartFilter, sort);
+            @CurrentUser User user) {
+        return taskService.getTasks(user, status, smartFilter, sort);
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Get a cursor-paginated page of the current user's tasks")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of tasks retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<TaskPageDTO> getMyTasksPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String smartFilter,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit,
+            @CurrentUser User user) {
+        try {
+            return ResponseEntity.ok(taskService.getTaskPage(user, status, smartFilter, sort, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PostMapping
-    public TaskDTO createTask(@RequestBody TaskDTO taskDTO, Authentication authentication) {
-        return taskService.createTask(getCurrentUser(authentication), taskDTO);
+    public TaskDTO createTask(@RequestBody TaskDTO taskDTO, @CurrentUser User user) {
+        return taskService.createTask(user, taskDTO);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import tasks from NDJSON with one task object per line, reporting rejected rows")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished, see imported and rejected counts"),
+        @ApiResponse(responseCode = "400", description = "Input cannot be imported"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<TaskImportResultDTO> importNdjson(Reader body, @CurrentUser User user) {
+        return importTasks(body, TaskImportService.Format.NDJSON, user);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Import tasks from CSV with a header row, reporting rejected rows")
+    public ResponseEntity<TaskImportResultDTO> importCsv(Reader body, @CurrentUser User user) {
+        return importTasks(body, TaskImportService.Format.CSV, user);
+    }
+
+    private ResponseEntity<TaskImportResultDTO> importTasks(Reader body, TaskImportService.Format format, User user) {
+        try {
+            return ResponseEntity.ok(taskImportService.importTasks(user, body, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO, Authentication authentication) {
-        return taskService.updateTask(getCurrentUser(authentication), id, taskDTO)
+    public ResponseEntity<TaskDTO> updateTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO, @CurrentUser User user) {
+        return taskService.updateTask(user, id, taskDTO)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<TaskDTO> patchTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO, Authentication authentication) {
-        return taskService.patchTask(getCurrentUser(authentication), id, taskDTO)
+    public ResponseEntity<TaskDTO> patchTask(@PathVariable Long id, @RequestBody TaskDTO taskDTO, @CurrentUser User user) {
+        return taskService.patchTask(user, id, taskDTO)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PatchMapping("/bulk")
-    public ResponseEntity<List<TaskDTO>> bulkPatchTasks(@RequestBody BulkPatchRequest req, Authentication authentication) {
-        List<TaskDTO> updated = taskService.bulkPatchTasks(getCurrentUser(authentication), req.ids(), req.patch());
+    public ResponseEntity<List<TaskDTO>> bulkPatchTasks(@RequestBody BulkPatchRequest req, @CurrentUser User user) {
+        List<TaskDTO> updated = taskService.bulkPatchTasks(user, req.ids(), req.patch());
         return ResponseEntity.ok(updated);
     }
 
     public record BulkPatchRequest(List<Long> ids, TaskDTO patch) {}
 
+    public record MoveTaskRequest(Long afterId) {}
+
     @PutMapping("/reorder")
-    public ResponseEntity<Void> reorderTasks(@RequestBody List<Long> taskIds, Authentication authentication) {
-        taskService.reorderTasks(getCurrentUser(authentication), taskIds);
+    public ResponseEntity<Void> reorderTasks(@RequestBody List<Long> taskIds, @CurrentUser User user) {
+        taskService.reorderTasks(user, taskIds);
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/{id}/move")
+    @Operation(summary = "Move a task directly after another task, or to the top when afterId is null")
+    public ResponseEntity<TaskDTO> moveTask(@PathVariable Long id, @RequestBody MoveTaskRequest request, @CurrentUser User user) {
+        return taskService.moveTask(user, id, request.afterId())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id, Authentication authentication) {
-        if (taskService.deleteTask(getCurrentUser(authentication), id)) {
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id, @CurrentUser User user) {
+        if (taskService.deleteTask(user, id)) {
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
     }
 
     @DeleteMapping("/bulk")
-    public ResponseEntity<Void> bulkDeleteTasks(@RequestBody List<Long> ids, Authentication authentication) {
-        taskService.bulkDeleteTasks(getCurrentUser(authentication), ids);
+    public ResponseEntity<Void> bulkDeleteTasks(@RequestBody List<Long> ids, @CurrentUser User user) {
+        taskService.bulkDeleteTasks(user, ids);
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search the current user's tasks by title, description and tags, best match first")
+    public ResponseEntity<TaskSearchResultDTO> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit,
+            @CurrentUser User user) {
+        return ResponseEntity.ok(taskService.searchTasks(user, query, offset, limit));
+    }
+
     @GetMapping("/metrics")
-    public ResponseEntity<Map<String, Object>> getTaskMetrics(Authentication authentication) {
-        List<TaskDTO> tasks = taskService.getTasks(getCurrentUser(authentication), null, null, null);
-        Map<String, Object> metrics = new HashMap<>();
-        metrics.put("total", tasks.size());
-        
-        long completed = tasks.stream().filter(t -> "DONE".equals(t.getStatus())).count();
-        metrics.put("completed", completed);
-        
-        long overdue = tasks.stream().filter(t -> {
-            if (t.getDueDate() == null) {
-                return false;
-            }
-            return t.getDueDate().isBefore(LocalDate.now()) && !"DONE".equals(t.getStatus());
-        }).count();
-        metrics.put("overdue", overdue);
-
-        return ResponseEntity.ok(metrics);
-    }
-
-    private User getCurrentUser(Authentication authentication) {
-        return userRepository.findByLogin(authentication.getName())
-                .orElseThrow(() -> {
-                    actionLogService.log("unknown", "USER_ERROR", "User not found: " + authentication.getName());
-                    return new RuntimeException("User not found");
-                });
+    @Operation(summary = "Get task counts of the current user by status, priority and tag")
+    public ResponseEntity<TaskMetricsDTO> getTaskMetrics(@CurrentUser User user) {
+        return ResponseEntity.ok(taskService.getTaskMetrics(user));
     }
 }
@@ -1,12 +1,15 @@
 package ch.goodone.angularai.backend.controller;
 
+import ch.goodone.angularai.backend.config.CurrentUser;
 import ch.goodone.angularai.backend.dto.UserDTO;
 import ch.goodone.angularai.backend.model.User;
 import ch.goodone.angularai.backend.model.VerificationToken;
 import ch.goodone.angularai.backend.repository.UserRepository;
 import ch.goodone.angularai.backend.repository.VerificationTokenRepository;
 import ch.goodone.angularai.backend.service.ActionLogService;
+import ch.goodone.angularai.backend.service.DashboardCounters;
 import ch.goodone.angularai.backend.service.EmailService;
+import ch.goodone.angularai.backend.service.UserStatusCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
@@ -27,34 +30,32 @@ import java.util.Set;
 @RequestMapping("/api/users")
 @Tag(name = "User Profile", description = "Endpoints for managing the logged-in user's profile")
 public class UserController {
-    
-    private static final String USER_NOT_FOUND = "User not found";
 
     private final UserRepository userRepository;
     private final VerificationTokenRepository verificationTokenRepository;
     private final EmailService emailService;
     private final ActionLogService actionLogService;
+    private final DashboardCounters dashboardCounters;
+    private final UserStatusCache userStatusCache;
 
-    public UserController(UserRepository userRepository, VerificationTokenRepository verificationTokenRepository, EmailService emailService, ActionLogService actionLogService) {
+    public UserController(UserRepository userRepository, VerificationTokenRepository verificationTokenRepository, EmailService emailService, ActionLogService actionLogService,
+                          DashboardCounters dashboardCounters, UserStatusCache userStatusCache) {
         this.userRepository = userRepository;
         this.verificationTokenRepository = verificationTokenRepository;
         this.emailService = emailService;
         this.actionLogService = actionLogService;
+        this.dashboardCounters = dashboardCounters;
+        this.userStatusCache = userStatusCache;
     }
 
     @GetMapping("/me")
-    public ResponseEntity<UserDTO> getCurrentUser(Authentication authentication) {
-        User user = userRepository.findByLogin(authentication.getName())
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
+    public ResponseEntity<UserDTO> getCurrentUser(@CurrentUser User user) {
         return ResponseEntity.ok(UserDTO.fromEntity(user));
     }
 
     @PutMapping("/me")
     @Transactional
-    public ResponseEntity<Object> updateCurrentUser(Authentication authentication, @RequestBody UserDTO userDTO) {
-        User user = userRepository.findByLogin(authentication.getName())
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
-        
+    public ResponseEntity<Object> updateCurrentUser(@CurrentUser User user, @RequestBody UserDTO userDTO) {
         if (userDTO.getEmail() != null && !userDTO.getEmail().matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
             return ResponseEntity.badRequest().body("Invalid email format");
         }
@@ -96,16 +97,15 @@ public class UserController {
 
     @DeleteMapping("/me")
     @Operation(summary = "Delete the logged-in user's account")
-    public ResponseEntity<Object> deleteCurrentUser(Authentication authentication) {
+    public ResponseEntity<Object> deleteCurrentUser(Authentication authentication, @CurrentUser User user) {
         String login = authentication.getName();
         if (Set.of("admin", "admin-read", "user").contains(login)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("This user cannot be deleted.");
         }
 
-        User user = userRepository.findByLogin(login)
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
-
         userRepository.delete(user);
+        userStatusCache.invalidate(login);
+        dashboardCounters.userDeleted(user);
         actionLogService.log(login, "USER_DELETED", "User deleted own account");
         return ResponseEntity.noContent().build();
     }
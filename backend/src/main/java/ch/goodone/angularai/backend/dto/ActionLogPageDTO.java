@@ -0,0 +1,42 @@
+package ch.goodone.angularai.backend.dto;
+
+import java.util.List;
+
+public class ActionLogPageDTO {
+    private List<ActionLogDTO> items;
+    private String nextCursor;
+    private Long total;
+
+    public ActionLogPageDTO() {
+    }
+
+    public ActionLogPageDTO(List<ActionLogDTO> items, String nextCursor, Long total) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    public List<ActionLogDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ActionLogDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+}
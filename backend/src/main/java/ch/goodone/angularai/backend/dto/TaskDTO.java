@@ -35,6 +35,10 @@ public class TaskDTO {
 
 
     public static TaskDTO fromEntity(Task task) {
+        return fromEntity(task, task.getTags());
+    }
+
+    public static TaskDTO fromEntity(Task task, java.util.List<String> tags) {
         TaskDTO dto = new TaskDTO();
         dto.setId(task.getId());
         dto.setTitle(task.getTitle());
@@ -46,10 +50,16 @@ public class TaskDTO {
         dto.setCreatedAt(task.getCreatedAt());
         dto.setUpdatedAt(task.getUpdatedAt());
         dto.setCompletedAt(task.getCompletedAt());
-        dto.setTags(task.getTags() != null ? new java.util.ArrayList<>(task.getTags()) : null);
+        dto.setTags(tags != null ? new java.util.ArrayList<>(tags) : null);
         return dto;
     }
 
+    public static java.util.List<TaskDTO> fromEntities(java.util.List<Task> tasks, java.util.Map<Long, java.util.List<String>> tagsByTaskId) {
+        return tasks.stream()
+                .map(task -> fromEntity(task, tagsByTaskId.getOrDefault(task.getId(), java.util.List.of())))
+                .toList();
+    }
+
     public Long getId() {
         return id;
     }
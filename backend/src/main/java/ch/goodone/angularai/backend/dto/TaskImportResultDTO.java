@@ -0,0 +1,72 @@
+package ch.goodone.angularai.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskImportResultDTO {
+    private int imported;
+    private int rejected;
+    private List<RowError> errors = new ArrayList<>();
+
+    public TaskImportResultDTO() {
+    }
+
+    public TaskImportResultDTO(int imported, int rejected, List<RowError> errors) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.errors = errors;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public static class RowError {
+        private int line;
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public void setLine(int line) {
+            this.line = line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ch.goodone.angularai.backend.dto;
+
+import java.util.Map;
+
+public class TaskMetricsDTO {
+    private long total;
+    private long completed;
+    private long overdue;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byPriority;
+    private Map<String, Long> byTag;
+
+    public TaskMetricsDTO() {
+    }
+
+    public TaskMetricsDTO(long total, long completed, long overdue, Map<String, Long> byStatus, Map<String, Long> byPriority,
+                          Map<String, Long> byTag) {
+        this.total = total;
+        this.completed = completed;
+        this.overdue = overdue;
+        this.byStatus = byStatus;
+        this.byPriority = byPriority;
+        this.byTag = byTag;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public void setByPriority(Map<String, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+
+    public Map<String, Long> getByTag() {
+        return byTag;
+    }
+
+    public void setByTag(Map<String, Long> byTag) {
+        this.byTag = byTag;
+    }
+}
@@ -0,0 +1,32 @@
+package ch.goodone.angularai.backend.dto;
+
+import java.util.List;
+
+public class TaskPageDTO {
+    private List<TaskDTO> items;
+    private String nextCursor;
+
+    public TaskPageDTO() {
+    }
+
+    public TaskPageDTO(List<TaskDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TaskDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,32 @@
+package ch.goodone.angularai.backend.dto;
+
+import java.util.List;
+
+public class TaskSearchResultDTO {
+    private List<TaskDTO> items;
+    private long total;
+
+    public TaskSearchResultDTO() {
+    }
+
+    public TaskSearchResultDTO(List<TaskDTO> items, long total) {
+        this.items = items;
+        this.total = total;
+    }
+
+    public List<TaskDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TaskDTO> items) {
+        this.items = items;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,14 @@
+package ch.goodone.angularai.backend.dto;
+
+import ch.goodone.angularai.backend.model.Role;
+import ch.goodone.angularai.backend.model.UserStatus;
+
+/**
+ * The parts of a user that decide whether an already issued token may still be used.
+ */
+public record UserAuthState(Long id, UserStatus status, Role role) {
+
+    public boolean isActive() {
+        return status == UserStatus.ACTIVE;
+    }
+}
@@ -0,0 +1,85 @@
+package ch.goodone.angularai.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ip_geo_locations")
+public class IpGeoLocation {
+
+    @Id
+    @Column(name = "ip_address", length = 64)
+    private String ipAddress;
+
+    private String country;
+    private String city;
+    private Double latitude;
+    private Double longitude;
+
+    @Column(name = "resolved_at", nullable = false)
+    private LocalDateTime resolvedAt;
+
+    public IpGeoLocation() {
+    }
+
+    public IpGeoLocation(String ipAddress, String country, String city, Double latitude, Double longitude, LocalDateTime resolvedAt) {
+        this.ipAddress = ipAddress;
+        this.country = country;
+        this.city = city;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.resolvedAt = resolvedAt;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public void setIpAddress(String ipAddress) {
+        this.ipAddress = ipAddress;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public void setResolvedAt(LocalDateTime resolvedAt) {
+        this.resolvedAt = resolvedAt;
+    }
+}
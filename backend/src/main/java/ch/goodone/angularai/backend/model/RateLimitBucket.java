@@ -0,0 +1,45 @@
+package ch.goodone.angularai.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Shared token bucket of the cluster rate limiter. Rows are read and written with plain JDBC compare-and-swap on
+ * {@code version}; the mapping keeps the table in the schema generated by Hibernate.
+ */
+@Entity
+@Table(name = "rate_limit_buckets", indexes = @Index(name = "idx_rate_limit_buckets_refilled_at", columnList = "refilled_at"))
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key")
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private double tokens;
+
+    @Column(name = "refilled_at", nullable = false)
+    private long refilledAt;
+
+    @Column(nullable = false)
+    private long version;
+
+    public String getBucketKey() {
+        return bucketKey;
+    }
+
+    public double getTokens() {
+        return tokens;
+    }
+
+    public long getRefilledAt() {
+        return refilledAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
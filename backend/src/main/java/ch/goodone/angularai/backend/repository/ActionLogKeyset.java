@@ -0,0 +1,48 @@
+package ch.goodone.angularai.backend.repository;
+
+import ch.goodone.angularai.backend.dto.ActionLogDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Seek position (timestamp and id of the last returned row) for the newest-first action log listing.
+ */
+public record ActionLogKeyset(LocalDateTime timestamp, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ActionLogKeyset first() {
+        return new ActionLogKeyset(null, null);
+    }
+
+    public static ActionLogKeyset after(ActionLogDTO last) {
+        return new ActionLogKeyset(last.getTimestamp(), last.getId());
+    }
+
+    public boolean isFirstPage() {
+        return id == null;
+    }
+
+    public String encode() {
+        String raw = id + SEPARATOR + timestamp;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ActionLogKeyset decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return first();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new ActionLogKeyset(LocalDateTime.parse(parts[1]), Long.valueOf(parts[0]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
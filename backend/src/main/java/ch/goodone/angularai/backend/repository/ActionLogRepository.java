@@ -10,12 +10,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ActionLogRepository extends JpaRepository<ActionLog, Long>, JpaSpecificationExecutor<ActionLog> {
+public interface ActionLogRepository extends JpaRepository<ActionLog, Long>, JpaSpecificationExecutor<ActionLog>, ActionLogRepositoryCustom {
     List<ActionLog> findAllByOrderByTimestampDesc(Pageable pageable);
 
     long countByTimestampAfter(LocalDateTime timestamp);
-
-    long countByIpAddressAndActionAndTimestampAfter(String ipAddress, String action, LocalDateTime timestamp);
-
-    long countByLoginAndActionAndTimestampAfter(String login, String action, LocalDateTime timestamp);
 }
@@ -0,0 +1,10 @@
+package ch.goodone.angularai.backend.repository;
+
+import ch.goodone.angularai.backend.model.ActionLog;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ActionLogRepositoryCustom {
+    List<ActionLog> findByKeyset(Specification<ActionLog> spec, ActionLogKeyset keyset, int limit);
+}
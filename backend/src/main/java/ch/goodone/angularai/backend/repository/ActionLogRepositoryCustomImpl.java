@@ -0,0 +1,45 @@
+package ch.goodone.angularai.backend.repository;
+
+import ch.goodone.angularai.backend.model.ActionLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ActionLogRepositoryCustomImpl implements ActionLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ActionLog> findByKeyset(Specification<ActionLog> spec, ActionLogKeyset keyset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ActionLog> query = cb.createQuery(ActionLog.class);
+        Root<ActionLog> root = query.from(ActionLog.class);
+        Path<LocalDateTime> timestamp = root.get("timestamp");
+        Path<Long> id = root.get("id");
+
+        Predicate where = spec.toPredicate(root, query, cb);
+        if (!keyset.isFirstPage()) {
+            // Timestamps are never null, so the seek is a plain row comparison on (timestamp, id)
+            Predicate after = cb.or(
+                    cb.lessThan(timestamp, keyset.timestamp()),
+                    cb.and(cb.equal(timestamp, keyset.timestamp()), cb.lessThan(id, keyset.id()))
+            );
+            where = cb.and(where, after);
+        }
+        query.where(where);
+        query.orderBy(cb.desc(timestamp), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,9 @@
+package ch.goodone.angularai.backend.repository;
+
+import ch.goodone.angularai.backend.model.IpGeoLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IpGeoLocationRepository extends JpaRepository<IpGeoLocation, String> {
+}
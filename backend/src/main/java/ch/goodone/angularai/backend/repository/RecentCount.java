@@ -0,0 +1,7 @@
+package ch.goodone.angularai.backend.repository;
+
+/**
+ * A row count together with the part of it that falls into a more recent period.
+ */
+public record RecentCount(Long total, Long recent) {
+}
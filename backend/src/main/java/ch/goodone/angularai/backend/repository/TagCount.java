@@ -0,0 +1,7 @@
+package ch.goodone.angularai.backend.repository;
+
+/**
+ * Number of tasks carrying a tag.
+ */
+public record TagCount(String tag, Long total) {
+}
@@ -0,0 +1,87 @@
+package ch.goodone.angularai.backend.repository;
+
+import ch.goodone.angularai.backend.dto.TaskDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Seek position (sort column plus value and id of the last returned row) for paged task listings.
+ */
+public record TaskKeyset(Column column, Object value, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public enum Column {
+        POSITION("position", false, TaskDTO::getPosition, Integer::valueOf),
+        DUE_DATE("dueDate", false, TaskDTO::getDueDate, LocalDate::parse),
+        UPDATED_AT("updatedAt", true, TaskDTO::getUpdatedAt, LocalDateTime::parse);
+
+        private final String attribute;
+        private final boolean descending;
+        private final Function<TaskDTO, Object> extractor;
+        private final Function<String, Object> parser;
+
+        Column(String attribute, boolean descending, Function<TaskDTO, Object> extractor, Function<String, Object> parser) {
+            this.attribute = attribute;
+            this.descending = descending;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        public String getAttribute() {
+            return attribute;
+        }
+
+        public boolean isDescending() {
+            return descending;
+        }
+
+        public static Column fromSort(String sort) {
+            if ("DUE_ASC".equals(sort)) {
+                return DUE_DATE;
+            }
+            if ("UPDATED_DESC".equals(sort)) {
+                return UPDATED_AT;
+            }
+            return POSITION;
+        }
+    }
+
+    public static TaskKeyset first(Column column) {
+        return new TaskKeyset(column, null, null);
+    }
+
+    public static TaskKeyset after(Column column, TaskDTO last) {
+        return new TaskKeyset(column, column.extractor.apply(last), last.getId());
+    }
+
+    public boolean isFirstPage() {
+        return id == null;
+    }
+
+    public String encode() {
+        String raw = column.name() + SEPARATOR + id + (value != null ? SEPARATOR + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskKeyset decode(Column expected, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return first(expected);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length < 2 || !expected.name().equals(parts[0])) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort order");
+            }
+            Object value = parts.length == 3 ? expected.parser.apply(parts[2]) : null;
+            return new TaskKeyset(expected, value, Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ch.goodone.angularai.backend.repository;
+
+import ch.goodone.angularai.backend.model.Priority;
+import ch.goodone.angularai.backend.model.TaskStatus;
+
+/**
+ * Number of tasks with a status and priority, and how many of them are past their due date.
+ */
+public record TaskMetricsCount(TaskStatus status, Priority priority, Long total, Long pastDue) {
+}
@@ -7,16 +7,37 @@ import ch.goodone.angularai.backend.model.TaskStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
     List<Task> findByUserOrderByPositionAsc(User user);
 
+    Optional<Task> findFirstByUserAndPositionNotNullOrderByPositionAscIdAsc(User user);
+
+    Optional<Task> findFirstByUserAndPositionGreaterThanOrderByPositionAscIdAsc(User user, Integer position);
+
+    @Query("select max(t.position) from Task t where t.user = :user")
+    Integer findMaxPositionByUser(@Param("user") User user);
+
     long countByStatus(TaskStatus status);
 
     List<Task> findByPriorityInOrderByIdDesc(java.util.Collection<Priority> priorities, Pageable pageable);
 
-    long countByCreatedAtAfter(java.time.LocalDateTime timestamp);
+    @Query("select new ch.goodone.angularai.backend.repository.TaskStatusCount(t.status, count(t), "
+            + "sum(case when t.createdAt > :since then 1L else 0L end)) from Task t group by t.status")
+    List<TaskStatusCount> countGroupedByStatus(@Param("since") java.time.LocalDateTime since);
+
+    @Query("select new ch.goodone.angularai.backend.repository.TaskMetricsCount(t.status, t.priority, count(t), "
+            + "sum(case when t.dueDate < :today then 1L else 0L end)) from Task t where t.user = :user group by t.status, t.priority")
+    List<TaskMetricsCount> countMetricsByUser(@Param("user") User user, @Param("today") java.time.LocalDate today);
+
+    @Query("select new ch.goodone.angularai.backend.repository.TagCount(tag, count(t)) from Task t join t.tags tag "
+            + "where t.user = :user group by tag order by count(t) desc, tag")
+    List<TagCount> countTagsByUser(@Param("user") User user);
 
-    long countByStatusAndCreatedAtAfter(TaskStatus status, java.time.LocalDateTime timestamp);
+    @Query("select new ch.goodone.angularai.backend.repository.TaskText(t.id, t.title, t.description) from Task t where t.user = :user")
+    List<TaskText> findTextsByUser(@Param("user") User user);
 }
@@ -0,0 +1,18 @@
+package ch.goodone.angularai.backend.repository;
+
+import ch.goodone.angularai.backend.dto.TaskDTO;
+import ch.goodone.angularai.backend.model.Task;
+import ch.goodone.angularai.backend.model.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface TaskRepositoryCustom {
+    List<TaskDTO> findByKeyset(Specification<Task> spec, TaskKeyset keyset, int limit);
+
+    Map<Long, List<String>> findTagsByTaskIds(Collection<Long> taskIds);
+
+    Map<Long, List<String>> findTagsByUser(User user);
+}
@@ -0,0 +1,143 @@
+package ch.goodone.angularai.backend.repository;
+
+import ch.goodone.angularai.backend.dto.TaskDTO;
+import ch.goodone.angularai.backend.model.Priority;
+import ch.goodone.angularai.backend.model.Task;
+import ch.goodone.angularai.backend.model.TaskStatus;
+import ch.goodone.angularai.backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Nulls;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final String ID = "id";
+    // Keeps each tag lookup well below the bind parameter limits of the supported drivers
+    static final int TAG_QUERY_CHUNK_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskDTO> findByKeyset(Specification<Task> spec, TaskKeyset keyset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        query.multiselect(
+                root.get(ID).alias(ID),
+                root.get("title").alias("title"),
+                root.get("description").alias("description"),
+                root.get("dueDate").alias("dueDate"),
+                root.get("priority").alias("priority"),
+                root.get("status").alias("status"),
+                root.get("position").alias("position"),
+                root.get("createdAt").alias("createdAt"),
+                root.get("updatedAt").alias("updatedAt"),
+                root.get("completedAt").alias("completedAt")
+        );
+
+        Predicate where = spec.toPredicate(root, query, cb);
+        if (!keyset.isFirstPage()) {
+            where = cb.and(where, seekPredicate(cb, root, keyset));
+        }
+        query.where(where);
+
+        Path<Comparable<Object>> sortKey = root.get(keyset.column().getAttribute());
+        Path<Long> id = root.get(ID);
+        if (keyset.column().isDescending()) {
+            query.orderBy(cb.desc(sortKey, Nulls.LAST), cb.desc(id));
+        } else {
+            query.orderBy(cb.asc(sortKey, Nulls.LAST), cb.asc(id));
+        }
+
+        List<TaskDTO> rows = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(this::toDTO)
+                .toList();
+        Map<Long, List<String>> tags = findTagsByTaskIds(rows.stream().map(TaskDTO::getId).toList());
+        rows.forEach(row -> row.setTags(tags.getOrDefault(row.getId(), new ArrayList<>())));
+        return rows;
+    }
+
+    private Predicate seekPredicate(CriteriaBuilder cb, Root<Task> root, TaskKeyset keyset) {
+        Path<Comparable<Object>> sortKey = root.get(keyset.column().getAttribute());
+        Path<Long> id = root.get(ID);
+        boolean descending = keyset.column().isDescending();
+        Predicate idAfter = descending ? cb.lessThan(id, keyset.id()) : cb.greaterThan(id, keyset.id());
+
+        if (keyset.value() == null) {
+            // Already inside the trailing block of null sort values
+            return cb.and(cb.isNull(sortKey), idAfter);
+        }
+
+        @SuppressWarnings("unchecked")
+        Comparable<Object> value = (Comparable<Object>) keyset.value();
+        Predicate valueAfter = descending ? cb.lessThan(sortKey, value) : cb.greaterThan(sortKey, value);
+        return cb.or(
+                valueAfter,
+                cb.and(cb.equal(sortKey, value), idAfter),
+                cb.isNull(sortKey)
+        );
+    }
+
+    @Override
+    public Map<Long, List<String>> findTagsByTaskIds(Collection<Long> taskIds) {
+        Map<Long, List<String>> tagsByTaskId = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return tagsByTaskId;
+        }
+        List<Long> ids = List.copyOf(taskIds);
+        for (int from = 0; from < ids.size(); from += TAG_QUERY_CHUNK_SIZE) {
+            entityManager.createQuery("select t.id, tag from Task t join t.tags tag where t.id in :ids", Object[].class)
+                    .setParameter("ids", ids.subList(from, Math.min(from + TAG_QUERY_CHUNK_SIZE, ids.size())))
+                    .getResultList()
+                    .forEach(row -> tagsByTaskId.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]));
+        }
+        return tagsByTaskId;
+    }
+
+    @Override
+    public Map<Long, List<String>> findTagsByUser(User user) {
+        Map<Long, List<String>> tagsByTaskId = new HashMap<>();
+        entityManager.createQuery("select t.id, tag from Task t join t.tags tag where t.user = :user", Object[].class)
+                .setParameter("user", user)
+                .getResultList()
+                .forEach(row -> tagsByTaskId.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]));
+        return tagsByTaskId;
+    }
+
+    private TaskDTO toDTO(Tuple tuple) {
+        TaskStatus status = tuple.get("status", TaskStatus.class);
+        TaskDTO dto = new TaskDTO(
+                tuple.get(ID, Long.class),
+                tuple.get("title", String.class),
+                tuple.get("description", String.class),
+                tuple.get("dueDate", LocalDate.class),
+                tuple.get("priority", Priority.class),
+                status != null ? status.name() : null,
+                tuple.get("position", Integer.class)
+        );
+        dto.setCreatedAt(tuple.get("createdAt", LocalDateTime.class));
+        dto.setUpdatedAt(tuple.get("updatedAt", LocalDateTime.class));
+        dto.setCompletedAt(tuple.get("completedAt", LocalDateTime.class));
+        return dto;
+    }
+}
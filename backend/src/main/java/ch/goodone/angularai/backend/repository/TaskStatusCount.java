@@ -0,0 +1,9 @@
+package ch.goodone.angularai.backend.repository;
+
+import ch.goodone.angularai.backend.model.TaskStatus;
+
+/**
+ * Number of tasks in a status, and how many of them were created since a given time.
+ */
+public record TaskStatusCount(TaskStatus status, Long total, Long createdSince) {
+}
@@ -0,0 +1,7 @@
+package ch.goodone.angularai.backend.repository;
+
+/**
+ * Searchable text of a task, without its tags.
+ */
+public record TaskText(Long id, String title, String description) {
+}
@@ -1,17 +1,31 @@
 package ch.goodone.angularai.backend.repository;
 
+import ch.goodone.angularai.backend.dto.UserAuthState;
 import ch.goodone.angularai.backend.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByLogin(String login);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("select new ch.goodone.angularai.backend.dto.UserAuthState(u.id, u.status, u.role) from User u where u.login = :login")
+    Optional<UserAuthState> findAuthStateByLogin(@Param("login") String login);
+
     Optional<User> findByEmail(String email);
 
     List<User> findAllByOrderByIdDesc(Pageable pageable);
 
-    long countByCreatedAtAfter(java.time.LocalDateTime timestamp);
+    @Query("select new ch.goodone.angularai.backend.repository.RecentCount(count(u), "
+            + "coalesce(sum(case when u.createdAt > :since then 1L else 0L end), 0L)) from User u")
+    RecentCount countWithCreatedSince(@Param("since") java.time.LocalDateTime since);
 }
@@ -0,0 +1,274 @@
+package ch.goodone.angularai.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Deletes action log entries that are older than the retention period of their action. Aged rows are removed in
+ * chunks of consecutive ids so that no statement locks or scans more than one chunk, and can optionally be written
+ * to a gzipped NDJSON archive first.
+ */
+@Service
+public class ActionLogRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionLogRetentionService.class);
+
+    private static final DateTimeFormatter ARCHIVE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public record RetentionPolicy(String action, int days) {
+
+        /**
+         * Parses {@code <action>=<days>}, where a trailing {@code *} on the action matches every action with that prefix,
+         * e.g. {@code TASK_*=365}. Zero days keeps the matching entries forever.
+         */
+        static RetentionPolicy parse(String spec) {
+            int eq = spec.lastIndexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid retention policy '" + spec + "', expected <action>=<days>");
+            }
+            return new RetentionPolicy(spec.substring(0, eq).trim(), Integer.parseInt(spec.substring(eq + 1).trim()));
+        }
+
+        boolean isPrefix() {
+            return action.endsWith("*");
+        }
+
+        private String key() {
+            return isPrefix() ? action.substring(0, action.length() - 1) : action;
+        }
+
+        /**
+         * An exact action or a longer prefix within a broader prefix policy takes precedence over it.
+         */
+        boolean overrides(RetentionPolicy broader) {
+            return broader.isPrefix() && key().startsWith(broader.key())
+                    && (!isPrefix() || key().length() > broader.key().length());
+        }
+
+        String condition() {
+            return isPrefix() ? "action LIKE ? ESCAPE '\\'" : "action = ?";
+        }
+
+        String parameter() {
+            if (!isPrefix()) {
+                return action;
+            }
+            return key().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        }
+    }
+
+    public record PurgeResult(int deleted, int archived, String archiveFile) {
+    }
+
+    private record Filter(String sql, List<Object> parameters) {
+    }
+
+    /**
+     * Totals of one purge. The archive file is only created once a chunk has rows to write to it.
+     */
+    private final class Run implements Closeable {
+        private final Path archive;
+        private Writer writer;
+        private int deleted;
+        private int archived;
+
+        private Run(Path archive) {
+            this.archive = archive;
+        }
+
+        private Writer writer() throws IOException {
+            if (writer == null) {
+                writer = openArchive(archive);
+            }
+            return writer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<RetentionPolicy> policies;
+    private final int defaultDays;
+    private final int chunkSize;
+    private final String archiveDir;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile PurgeResult lastResult;
+    private volatile LocalDateTime lastRunAt;
+
+    public ActionLogRetentionService(JdbcTemplate jdbcTemplate,
+                                     @Value("${app.action-log.retention.policies:}") List<String> policies,
+                                     @Value("${app.action-log.retention.default-days:0}") int defaultDays,
+                                     @Value("${app.action-log.retention.chunk-size:1000}") int chunkSize,
+                                     @Value("${app.action-log.retention.archive-dir:}") String archiveDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.policies = policies.stream().filter(spec -> !spec.isBlank()).map(RetentionPolicy::parse).toList();
+        this.defaultDays = defaultDays;
+        this.chunkSize = chunkSize;
+        this.archiveDir = archiveDir;
+    }
+
+    @Scheduled(cron = "${app.action-log.retention.cron:-}")
+    public void scheduledPurge() {
+        purge();
+    }
+
+    public PurgeResult purge() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Action log purge already running, skipping");
+            return null;
+        }
+        try {
+            PurgeResult result = runPurge(LocalDateTime.now());
+            lastResult = result;
+            lastRunAt = LocalDateTime.now();
+            logger.info("Action log purge finished: {}", result);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private PurgeResult runPurge(LocalDateTime now) {
+        Path archive = archiveDir.isBlank() ? null : Path.of(archiveDir, "action_log-" + ARCHIVE_NAME.format(now) + ".ndjson.gz");
+        try (Run run = new Run(archive)) {
+            for (RetentionPolicy policy : policies) {
+                if (policy.days() > 0) {
+                    purgeChunks(run, filterFor(policy), now.minusDays(policy.days()));
+                }
+            }
+            if (defaultDays > 0) {
+                purgeChunks(run, excluding(new Filter("1 = 1", List.of()), policies), now.minusDays(defaultDays));
+            }
+            return new PurgeResult(run.deleted, run.archived, run.writer != null ? archive.toString() : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write action log archive " + archive, e);
+        }
+    }
+
+    /**
+     * Rows of the policy's action that no more specific policy covers, e.g. {@code TASK_*} without {@code TASK_DELETED}.
+     */
+    private Filter filterFor(RetentionPolicy policy) {
+        List<RetentionPolicy> overriding = policies.stream()
+                .filter(other -> other != policy && other.overrides(policy))
+                .toList();
+        return excluding(new Filter(policy.condition(), List.of(policy.parameter())), overriding);
+    }
+
+    private static Filter excluding(Filter filter, List<RetentionPolicy> excluded) {
+        if (excluded.isEmpty()) {
+            return filter;
+        }
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>(filter.parameters());
+        for (RetentionPolicy policy : excluded) {
+            conditions.add(policy.condition());
+            parameters.add(policy.parameter());
+        }
+        return new Filter(filter.sql() + " AND NOT (" + String.join(" OR ", conditions) + ")", parameters);
+    }
+
+    private void purgeChunks(Run run, Filter filter, LocalDateTime cutoff) throws IOException {
+        String where = "timestamp < ? AND " + filter.sql();
+        Long from = nextId(where, filter, cutoff, Long.MIN_VALUE);
+        while (from != null) {
+            long to = from + chunkSize;
+            String chunkWhere = " WHERE id >= ? AND id < ? AND " + where;
+            Object[] parameters = parameters(filter, from, to, cutoff);
+            if (run.archive != null) {
+                archiveChunk(run, "SELECT * FROM action_log" + chunkWhere + " ORDER BY id", parameters);
+            }
+            run.deleted += jdbcTemplate.update("DELETE FROM action_log" + chunkWhere, parameters);
+            from = nextId(where, filter, cutoff, to);
+        }
+    }
+
+    private Long nextId(String where, Filter filter, LocalDateTime cutoff, long from) {
+        // Skips over id gaps, so sparse ranges do not cost one empty chunk per missing block
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM action_log WHERE id >= ? AND " + where,
+                Long.class, parameters(filter, from, null, cutoff));
+    }
+
+    private Object[] parameters(Filter filter, long from, Long to, LocalDateTime cutoff) {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(from);
+        if (to != null) {
+            parameters.add(to);
+        }
+        parameters.add(Timestamp.valueOf(cutoff));
+        parameters.addAll(filter.parameters());
+        return parameters.toArray();
+    }
+
+    private void archiveChunk(Run run, String sql, Object[] parameters) throws IOException {
+        List<Map<String, Object>> rows = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                Object value = rs.getObject(i);
+                row.put(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), value instanceof Timestamp ts ? ts.toLocalDateTime() : value);
+            }
+            return row;
+        }, parameters);
+        if (rows.isEmpty()) {
+            return;
+        }
+        Writer archive = run.writer();
+        for (Map<String, Object> row : rows) {
+            archive.write(jsonMapper.writeValueAsString(row));
+            archive.write('\n');
+        }
+        // Rows are only deleted once they have reached the file
+        archive.flush();
+        run.archived += rows.size();
+    }
+
+    private Writer openArchive(Path archive) throws IOException {
+        Files.createDirectories(archive.getParent());
+        return new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(archive), true), StandardCharsets.UTF_8));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        PurgeResult result = lastResult;
+        stats.put("running", running.get());
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("deleted", result != null ? result.deleted() : 0);
+        stats.put("archived", result != null ? result.archived() : 0);
+        stats.put("archiveFile", result != null ? result.archiveFile() : null);
+        return stats;
+    }
+}
@@ -1,10 +1,12 @@
 package ch.goodone.angularai.backend.service;
 
+import ch.goodone.angularai.backend.config.AsyncConfig;
 import ch.goodone.angularai.backend.dto.ActionLogDTO;
+import ch.goodone.angularai.backend.dto.ActionLogPageDTO;
 import ch.goodone.angularai.backend.model.ActionLog;
+import ch.goodone.angularai.backend.repository.ActionLogKeyset;
 import ch.goodone.angularai.backend.repository.ActionLogRepository;
 import jakarta.persistence.criteria.Predicate;
-import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -23,46 +25,47 @@ public class ActionLogService {
     
     private static final Logger logger = LoggerFactory.getLogger(ActionLogService.class);
     private static final String ACTION_FIELD = "action";
+    private static final String LOGIN_FAILURE = "LOGIN_FAILURE";
+    private static final int MAX_PAGE_SIZE = 500;
 
     private final ActionLogRepository actionLogRepository;
     private final IpLocationService ipLocationService;
-    private final HttpServletRequest request;
+    private final ActionLogWriter actionLogWriter;
+    private final LoginAttackDetector loginAttackDetector;
+    private final DashboardCounters dashboardCounters;
 
-    public ActionLogService(ActionLogRepository actionLogRepository, IpLocationService ipLocationService, HttpServletRequest request) {
+    public ActionLogService(ActionLogRepository actionLogRepository, IpLocationService ipLocationService, ActionLogWriter actionLogWriter,
+                            LoginAttackDetector loginAttackDetector, DashboardCounters dashboardCounters) {
         this.actionLogRepository = actionLogRepository;
         this.ipLocationService = ipLocationService;
-        this.request = request;
+        this.actionLogWriter = actionLogWriter;
+        this.loginAttackDetector = loginAttackDetector;
+        this.dashboardCounters = dashboardCounters;
     }
 
-    @Transactional
     public void log(String login, String action, String details) {
         ActionLog actionLog = new ActionLog(login, action, details);
+        // Forensic data comes from the request, so it has to be read before the entry leaves this thread
         populateForensicData(actionLog);
-        actionLogRepository.save(actionLog);
+        if (LOGIN_FAILURE.equals(action)) {
+            loginAttackDetector.recordFailure(login, actionLog.getIpAddress());
+        }
+        if (actionLogWriter != null && actionLogWriter.isEnabled()) {
+            actionLogWriter.submit(actionLog);
+        } else {
+            actionLogRepository.save(actionLog);
+        }
+        dashboardCounters.actionLogged(actionLog);
     }
 
     private void populateForensicData(ActionLog log) {
-        if (request != null) {
-            log.setRequestMethod(request.getMethod());
-            log.setRequestUri(request.getRequestURI());
-            if (request.getSession(false) != null) {
-                log.setSessionId(request.getSession().getId());
-            }
-            if (log.getIpAddress() == null) {
-                String ip = request.getRemoteAddr();
-                String xforwardedFor = request.getHeader("X-Forwarded-For");
-                if (xforwardedFor != null && !xforwardedFor.isEmpty()) {
-                    ip = xforwardedFor.split(",")[0];
-                }
-                log.setIpAddress(ip);
-            }
-            if (log.getUserAgent() == null) {
-                log.setUserAgent(request.getHeader("User-Agent"));
-            }
+        RequestForensics forensics = RequestForensics.current();
+        if (forensics != null) {
+            forensics.applyTo(log);
         }
     }
 
-    @Async
+    @Async(AsyncConfig.AUDIT_EXECUTOR)
     @Transactional
     public void logLogin(String login, String ip, String userAgent) {
         detectAttackPatterns(login, ip);
@@ -80,23 +83,44 @@ public class ActionLogService {
         populateForensicData(log);
         
         actionLogRepository.save(log);
+        dashboardCounters.actionLogged(log);
     }
 
     private void detectAttackPatterns(String login, String ip) {
-        LocalDateTime oneMinuteAgo = LocalDateTime.now().minusMinutes(1);
-        long failedLoginsFromIp = actionLogRepository.countByIpAddressAndActionAndTimestampAfter(ip, "LOGIN_FAILURE", oneMinuteAgo);
-        if (failedLoginsFromIp > 10) {
+        if (loginAttackDetector.isSuspiciousIp(ip)) {
             logger.warn("ALERT: Potential Credential Stuffing detected from IP: {}", ip);
         }
-
-        long failedLoginsForUser = actionLogRepository.countByLoginAndActionAndTimestampAfter(login, "LOGIN_FAILURE", oneMinuteAgo);
-        if (failedLoginsForUser > 5) {
+        if (loginAttackDetector.isSuspiciousLogin(login)) {
             logger.warn("ALERT: Potential Brute Force detected for User: {}", login);
         }
     }
 
     public Page<ActionLogDTO> getLogs(Pageable pageable, String type, LocalDateTime start, LocalDateTime end) {
-        Specification<ActionLog> spec = (root, query, cb) -> {
+        return actionLogRepository.findAll(buildSpecification(type, start, end), pageable).map(ActionLogDTO::fromEntity);
+    }
+
+    /**
+     * Returns one page of the newest-first listing, continuing after {@code cursor}. The total is only counted
+     * when requested, as the count has to visit every matching row.
+     */
+    public ActionLogPageDTO getLogPage(String type, LocalDateTime start, LocalDateTime end, String cursor, int limit, boolean withTotal) {
+        ActionLogKeyset keyset = ActionLogKeyset.decode(cursor);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        Specification<ActionLog> spec = buildSpecification(type, start, end);
+
+        List<ActionLogDTO> rows = actionLogRepository.findByKeyset(spec, keyset, pageSize + 1).stream()
+                .map(ActionLogDTO::fromEntity)
+                .toList();
+        Long total = withTotal ? actionLogRepository.count(spec) : null;
+        if (rows.size() <= pageSize) {
+            return new ActionLogPageDTO(rows, null, total);
+        }
+        List<ActionLogDTO> page = rows.subList(0, pageSize);
+        return new ActionLogPageDTO(page, ActionLogKeyset.after(page.get(pageSize - 1)).encode(), total);
+    }
+
+    private Specification<ActionLog> buildSpecification(String type, LocalDateTime start, LocalDateTime end) {
+        return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             if (type != null && !type.equalsIgnoreCase("all")) {
@@ -127,19 +151,20 @@ public class ActionLogService {
 
             return cb.and(predicates.toArray(new Predicate[0]));
         };
-
-        return actionLogRepository.findAll(spec, pageable).map(ActionLogDTO::fromEntity);
     }
 
     @Transactional
     public void clearLogs() {
-        actionLogRepository.deleteAll();
+        actionLogRepository.deleteAllInBatch();
+        dashboardCounters.actionLogsCleared();
     }
 
     @Transactional
     public ActionLogDTO createLog(ActionLogDTO logDTO) {
         LocalDateTime timestamp = logDTO.getTimestamp() != null ? logDTO.getTimestamp() : LocalDateTime.now();
         ActionLog actionLog = new ActionLog(logDTO.getLogin(), logDTO.getAction(), logDTO.getDetails(), timestamp);
-        return ActionLogDTO.fromEntity(actionLogRepository.save(actionLog));
+        ActionLog saved = actionLogRepository.save(actionLog);
+        dashboardCounters.actionLogged(saved);
+        return ActionLogDTO.fromEntity(saved);
     }
 }
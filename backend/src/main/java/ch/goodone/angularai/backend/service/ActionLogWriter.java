@@ -0,0 +1,193 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.ActionLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers action log entries and writes them in JDBC batches from a background thread.
+ */
+@Component
+public class ActionLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionLogWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO action_log (timestamp, login, action, details, ip_address, country, city, "
+            + "latitude, longitude, user_agent, session_id, request_method, request_uri, status_code) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy {
+        CALLER_RUNS,
+        DROP
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final BlockingQueue<ActionLog> queue;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ActionLogWriter(JdbcTemplate jdbcTemplate,
+                           @Value("${app.action-log.async.enabled:true}") boolean enabled,
+                           @Value("${app.action-log.async.queue-capacity:10000}") int queueCapacity,
+                           @Value("${app.action-log.async.batch-size:100}") int batchSize,
+                           @Value("${app.action-log.async.flush-interval-ms:500}") long flushIntervalMs,
+                           @Value("${app.action-log.async.overflow-policy:CALLER_RUNS}") OverflowPolicy overflowPolicy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            running = true;
+            worker = Thread.ofPlatform().name("action-log-writer").daemon().start(this::drainLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            // No interrupt: it would abort the batch the worker may be writing; the poll timeout bounds the wait
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushRemaining();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the entry once the surrounding transaction commits, or right away when there is none.
+     */
+    public void submit(ActionLog actionLog) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(actionLog);
+                }
+            });
+        } else {
+            enqueue(actionLog);
+        }
+    }
+
+    private void enqueue(ActionLog actionLog) {
+        if (running && queue.offer(actionLog)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP && running) {
+            long count = dropped.incrementAndGet();
+            if (count == 1 || count % 1000 == 0) {
+                logger.warn("Action log queue full, dropped {} entries so far", count);
+            }
+            return;
+        }
+        persist(List.of(actionLog));
+    }
+
+    private void drainLoop() {
+        List<ActionLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ActionLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    persist(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<ActionLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    private void persist(List<ActionLog> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            logger.error("Failed to write {} action log entries: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void bind(PreparedStatement ps, ActionLog log) throws SQLException {
+        ps.setTimestamp(1, Timestamp.valueOf(log.getTimestamp()));
+        ps.setString(2, log.getLogin());
+        ps.setString(3, log.getAction());
+        ps.setString(4, log.getDetails());
+        ps.setString(5, log.getIpAddress());
+        ps.setString(6, log.getCountry());
+        ps.setString(7, log.getCity());
+        ps.setObject(8, log.getLatitude(), Types.DOUBLE);
+        ps.setObject(9, log.getLongitude(), Types.DOUBLE);
+        ps.setString(10, log.getUserAgent());
+        ps.setString(11, log.getSessionId());
+        ps.setString(12, log.getRequestMethod());
+        ps.setString(13, log.getRequestUri());
+        ps.setObject(14, log.getStatusCode(), Types.INTEGER);
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+}
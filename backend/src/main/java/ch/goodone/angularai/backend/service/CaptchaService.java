@@ -52,8 +52,7 @@ public class CaptchaService {
         this.systemSettingService = systemSettingService;
     }
 
-    private String getActiveSecret() {
-        int index = systemSettingService.getRecaptchaConfigIndex();
+    private String getActiveSecret(int index) {
         return switch (index) {
             case 2 -> secretKey2;
             case 3 -> secretKey3;
@@ -61,8 +60,7 @@ public class CaptchaService {
         };
     }
 
-    private String getActiveProjectId() {
-        int index = systemSettingService.getRecaptchaConfigIndex();
+    private String getActiveProjectId(int index) {
         return switch (index) {
             case 2 -> projectId2;
             case 3 -> projectId3;
@@ -70,8 +68,7 @@ public class CaptchaService {
         };
     }
 
-    private String getActiveApiKey() {
-        int index = systemSettingService.getRecaptchaConfigIndex();
+    private String getActiveApiKey(int index) {
         return switch (index) {
             case 2 -> apiKey2;
             case 3 -> apiKey3;
@@ -79,8 +76,7 @@ public class CaptchaService {
         };
     }
 
-    private String getActiveSiteKey() {
-        int index = systemSettingService.getRecaptchaConfigIndex();
+    private String getActiveSiteKey(int index) {
         return switch (index) {
             case 2 -> siteKey2;
             case 3 -> siteKey3;
@@ -90,7 +86,7 @@ public class CaptchaService {
 
     public boolean verify(String token) {
         int index = systemSettingService.getRecaptchaConfigIndex();
-        String secret = getActiveSecret();
+        String secret = getActiveSecret(index);
         
         // For development/test environments where the key might be missing or set to a dummy value
         if ("disabled".equals(secret) || "dummy".equals(secret)) {
@@ -103,12 +99,12 @@ public class CaptchaService {
             return false;
         }
 
-        String projectId = getActiveProjectId();
-        String apiKey = getActiveApiKey();
+        String projectId = getActiveProjectId(index);
+        String apiKey = getActiveApiKey(index);
 
         if (projectId != null && !projectId.isBlank() && !"dummy".equals(projectId) 
                 && apiKey != null && !apiKey.isBlank() && !"dummy".equals(apiKey)) {
-            return verifyEnterprise(token, projectId, apiKey);
+            return verifyEnterprise(token, projectId, apiKey, getActiveSiteKey(index));
         }
 
         return verifyLegacy(token, secret);
@@ -139,13 +135,13 @@ public class CaptchaService {
         }
     }
 
-    private boolean verifyEnterprise(String token, String projectId, String apiKey) {
+    private boolean verifyEnterprise(String token, String projectId, String apiKey, String siteKey) {
         try {
             String url = String.format(ENTERPRISE_VERIFY_URL_TEMPLATE, projectId, apiKey);
 
             Map<String, Object> event = new HashMap<>();
             event.put("token", token);
-            event.put("siteKey", getActiveSiteKey());
+            event.put("siteKey", siteKey);
 
             Map<String, Object> body = new HashMap<>();
             body.put("event", event);
@@ -0,0 +1,279 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.dto.DashboardDTO;
+import ch.goodone.angularai.backend.model.ActionLog;
+import ch.goodone.angularai.backend.model.Task;
+import ch.goodone.angularai.backend.model.TaskStatus;
+import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.ActionLogRepository;
+import ch.goodone.angularai.backend.repository.RecentCount;
+import ch.goodone.angularai.backend.repository.TaskRepository;
+import ch.goodone.angularai.backend.repository.TaskStatusCount;
+import ch.goodone.angularai.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * In-memory task, user and action log counts behind the dashboard summary. They are seeded from the database,
+ * adjusted by the services that change the counted rows once their transaction commits, and periodically
+ * reconciled against the database to correct any drift, e.g. from rolled back work or dropped log entries.
+ */
+@Service
+public class DashboardCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounters.class);
+
+    private static final class Counts {
+        private final long[] tasks = new long[TaskStatus.values().length];
+        private final long[] tasksCreatedToday = new long[TaskStatus.values().length];
+        private long users;
+        private long usersCreatedToday;
+        private long logsToday;
+
+        private void add(Counts other) {
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] += other.tasks[i];
+                tasksCreatedToday[i] += other.tasksCreatedToday[i];
+            }
+            users += other.users;
+            usersCreatedToday += other.usersCreatedToday;
+            logsToday += other.logsToday;
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ActionLogRepository actionLogRepository;
+    private final Clock clock;
+
+    private Counts counts;
+    private LocalDate today;
+    // Changes made while a reconciliation reads the database, applied on top of what it read
+    private Counts journal;
+
+    @Autowired
+    public DashboardCounters(TaskRepository taskRepository, UserRepository userRepository, ActionLogRepository actionLogRepository) {
+        this(taskRepository, userRepository, actionLogRepository, Clock.systemDefaultZone());
+    }
+
+    DashboardCounters(TaskRepository taskRepository, UserRepository userRepository, ActionLogRepository actionLogRepository, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.actionLogRepository = actionLogRepository;
+        this.clock = clock;
+    }
+
+    public void taskCreated(Task task) {
+        TaskStatus status = task.getStatus();
+        boolean createdToday = isToday(task.getCreatedAt());
+        afterCommit(c -> {
+            c.tasks[status.ordinal()]++;
+            if (createdToday) {
+                c.tasksCreatedToday[status.ordinal()]++;
+            }
+        });
+    }
+
+    /**
+     * Counts tasks inserted in bulk without a {@link Task} instance per row.
+     */
+    public void tasksCreated(Map<TaskStatus, Integer> countsByStatus, LocalDateTime createdAt) {
+        Map<TaskStatus, Integer> counts = new EnumMap<>(countsByStatus);
+        boolean createdToday = isToday(createdAt);
+        afterCommit(c -> counts.forEach((status, count) -> {
+            c.tasks[status.ordinal()] += count;
+            if (createdToday) {
+                c.tasksCreatedToday[status.ordinal()] += count;
+            }
+        }));
+    }
+
+    public void taskStatusChanged(Task task, TaskStatus previous) {
+        TaskStatus status = task.getStatus();
+        if (previous == null || previous == status) {
+            return;
+        }
+        boolean createdToday = isToday(task.getCreatedAt());
+        afterCommit(c -> {
+            c.tasks[previous.ordinal()]--;
+            c.tasks[status.ordinal()]++;
+            if (createdToday) {
+                c.tasksCreatedToday[previous.ordinal()]--;
+                c.tasksCreatedToday[status.ordinal()]++;
+            }
+        });
+    }
+
+    public void taskDeleted(Task task) {
+        TaskStatus status = task.getStatus();
+        boolean createdToday = isToday(task.getCreatedAt());
+        afterCommit(c -> {
+            c.tasks[status.ordinal()]--;
+            if (createdToday) {
+                c.tasksCreatedToday[status.ordinal()]--;
+            }
+        });
+    }
+
+    public void userCreated(User user) {
+        boolean createdToday = isToday(user.getCreatedAt());
+        afterCommit(c -> {
+            c.users++;
+            if (createdToday) {
+                c.usersCreatedToday++;
+            }
+        });
+    }
+
+    public void userDeleted(User user) {
+        boolean createdToday = isToday(user.getCreatedAt());
+        afterCommit(c -> {
+            c.users--;
+            if (createdToday) {
+                c.usersCreatedToday--;
+            }
+        });
+    }
+
+    public void actionLogged(ActionLog actionLog) {
+        if (isToday(actionLog.getTimestamp())) {
+            afterCommit(c -> c.logsToday++);
+        }
+    }
+
+    public void actionLogsCleared() {
+        afterCommit(c -> c.logsToday = 0);
+    }
+
+    public synchronized DashboardDTO.TaskStatusDistribution getTaskDistribution() {
+        Counts current = current();
+        long total = 0;
+        for (long count : current.tasks) {
+            total += count;
+        }
+        return new DashboardDTO.TaskStatusDistribution(
+                current.tasks[TaskStatus.OPEN.ordinal()],
+                current.tasks[TaskStatus.IN_PROGRESS.ordinal()],
+                current.tasks[TaskStatus.DONE.ordinal()],
+                current.tasks[TaskStatus.ARCHIVED.ordinal()],
+                total);
+    }
+
+    /**
+     * @param logsLastHour delta of the log count, which is not tracked here
+     */
+    public synchronized DashboardDTO.SummaryStats getSummary(long logsLastHour) {
+        Counts current = current();
+        return new DashboardDTO.SummaryStats(
+                current.tasks[TaskStatus.OPEN.ordinal()] + current.tasks[TaskStatus.IN_PROGRESS.ordinal()],
+                current.tasksCreatedToday[TaskStatus.OPEN.ordinal()] + current.tasksCreatedToday[TaskStatus.IN_PROGRESS.ordinal()],
+                current.users, current.usersCreatedToday,
+                current.tasks[TaskStatus.DONE.ordinal()], current.tasksCreatedToday[TaskStatus.DONE.ordinal()],
+                current.logsToday, logsLastHour);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.dashboard.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        LocalDate day;
+        synchronized (this) {
+            journal = new Counts();
+            day = LocalDate.now(clock);
+        }
+        Counts loaded;
+        try {
+            loaded = load(day.atStartOfDay());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                journal = null;
+            }
+            logger.warn("Could not reconcile dashboard counters: {}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            if (day.equals(LocalDate.now(clock))) {
+                loaded.add(journal);
+                counts = loaded;
+                today = day;
+            }
+            journal = null;
+        }
+    }
+
+    private Counts load(LocalDateTime startOfToday) {
+        Counts loaded = new Counts();
+        for (TaskStatusCount count : taskRepository.countGroupedByStatus(startOfToday)) {
+            loaded.tasks[count.status().ordinal()] = count.total();
+            loaded.tasksCreatedToday[count.status().ordinal()] = count.createdSince();
+        }
+        RecentCount users = userRepository.countWithCreatedSince(startOfToday);
+        loaded.users = users.total();
+        loaded.usersCreatedToday = users.recent();
+        loaded.logsToday = actionLogRepository.countByTimestampAfter(startOfToday);
+        return loaded;
+    }
+
+    private Counts current() {
+        if (counts == null) {
+            // Read before the startup seeding, e.g. when the event is not published in a test slice
+            Counts loaded = load(LocalDate.now(clock).atStartOfDay());
+            counts = loaded;
+            today = LocalDate.now(clock);
+        }
+        rollOver();
+        return counts;
+    }
+
+    private void rollOver() {
+        LocalDate now = LocalDate.now(clock);
+        if (!now.equals(today)) {
+            Arrays.fill(counts.tasksCreatedToday, 0);
+            counts.usersCreatedToday = 0;
+            counts.logsToday = 0;
+            today = now;
+        }
+    }
+
+    private boolean isToday(LocalDateTime timestamp) {
+        return timestamp == null || timestamp.toLocalDate().equals(LocalDate.now(clock));
+    }
+
+    private void afterCommit(Consumer<Counts> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private synchronized void apply(Consumer<Counts> change) {
+        // Until seeded there is nothing to adjust, the first read loads everything committed so far
+        if (counts != null) {
+            rollOver();
+            change.accept(counts);
+        }
+        if (journal != null) {
+            change.accept(journal);
+        }
+    }
+}
@@ -5,68 +5,66 @@ import ch.goodone.angularai.backend.dto.DashboardDTO;
 import ch.goodone.angularai.backend.dto.TaskDTO;
 import ch.goodone.angularai.backend.dto.UserDTO;
 import ch.goodone.angularai.backend.model.Priority;
-import ch.goodone.angularai.backend.model.TaskStatus;
+import ch.goodone.angularai.backend.model.Task;
 import ch.goodone.angularai.backend.repository.ActionLogRepository;
 import ch.goodone.angularai.backend.repository.TaskRepository;
 import ch.goodone.angularai.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Builds the admin dashboard from the {@link DashboardCounters} and a few small queries. The result is shared as a
+ * snapshot for a short time, and concurrent requests for an expired snapshot wait for a single computation instead
+ * of each running it.
+ */
 @Service
-@Transactional(readOnly = true)
 public class DashboardService {
 
+    private static final String SNAPSHOT_KEY = "dashboard";
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final ActionLogRepository actionLogRepository;
+    private final DashboardCounters dashboardCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final ExpiringCache<String, DashboardDTO> snapshot = new ExpiringCache<>(1, Clock.systemUTC());
+
+    @Value("${app.dashboard.snapshot-ttl-ms:5000}")
+    private long snapshotTtlMs;
 
-    public DashboardService(TaskRepository taskRepository, UserRepository userRepository, ActionLogRepository actionLogRepository) {
+    public DashboardService(TaskRepository taskRepository, UserRepository userRepository, ActionLogRepository actionLogRepository,
+                            DashboardCounters dashboardCounters, PlatformTransactionManager transactionManager) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.actionLogRepository = actionLogRepository;
+        this.dashboardCounters = dashboardCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
     }
 
     public DashboardDTO getDashboardData() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfToday = now.withHour(0).withMinute(0).withSecond(0).withNano(0);
-
-        // Summary Stats
-        long openTasks = taskRepository.countByStatus(TaskStatus.OPEN) + taskRepository.countByStatus(TaskStatus.IN_PROGRESS);
-        long completedTasks = taskRepository.countByStatus(TaskStatus.DONE);
-        long activeUsers = userRepository.count();
-        long todayLogs = actionLogRepository.countByTimestampAfter(startOfToday);
-
-        // Real deltas: Items created today
-        long openTasksDelta = taskRepository.countByStatusAndCreatedAtAfter(TaskStatus.OPEN, startOfToday) 
-                            + taskRepository.countByStatusAndCreatedAtAfter(TaskStatus.IN_PROGRESS, startOfToday);
-        long completedTasksDelta = taskRepository.countByStatusAndCreatedAtAfter(TaskStatus.DONE, startOfToday);
-        long activeUsersDelta = userRepository.countByCreatedAtAfter(startOfToday);
-        long todayLogsDelta = actionLogRepository.countByTimestampAfter(now.minusHours(1));
-
-        DashboardDTO.SummaryStats summary = new DashboardDTO.SummaryStats(
-                openTasks, openTasksDelta,
-                activeUsers, activeUsersDelta,
-                completedTasks, completedTasksDelta,
-                todayLogs, todayLogsDelta
-        );
+        return snapshot.get(SNAPSHOT_KEY, key -> transactionTemplate.execute(status -> computeDashboardData()),
+                value -> Duration.ofMillis(snapshotTtlMs));
+    }
 
-        // Task Distribution
-        long openCount = taskRepository.countByStatus(TaskStatus.OPEN);
-        long inProgressCount = taskRepository.countByStatus(TaskStatus.IN_PROGRESS);
-        long completedCount = taskRepository.countByStatus(TaskStatus.DONE);
-        long archivedCount = taskRepository.countByStatus(TaskStatus.ARCHIVED);
-        long totalCount = taskRepository.count();
-        DashboardDTO.TaskStatusDistribution distribution = new DashboardDTO.TaskStatusDistribution(
-                openCount, inProgressCount, completedCount, archivedCount, totalCount
-        );
+    private DashboardDTO computeDashboardData() {
+        // Counts come from the maintained counters, only the recent log delta is a (range) query
+        long logsLastHour = actionLogRepository.countByTimestampAfter(LocalDateTime.now().minusHours(1));
+        DashboardDTO.SummaryStats summary = dashboardCounters.getSummary(logsLastHour);
+        DashboardDTO.TaskStatusDistribution distribution = dashboardCounters.getTaskDistribution();
 
         // Recent Data
-        List<TaskDTO> priorityTasks = taskRepository.findByPriorityInOrderByIdDesc(List.of(Priority.CRITICAL, Priority.HIGH), PageRequest.of(0, 5))
-                .stream().map(TaskDTO::fromEntity).toList();
+        List<Task> priorityTaskEntities = taskRepository.findByPriorityInOrderByIdDesc(List.of(Priority.CRITICAL, Priority.HIGH), PageRequest.of(0, 5));
+        List<TaskDTO> priorityTasks = TaskDTO.fromEntities(priorityTaskEntities,
+                taskRepository.findTagsByTaskIds(priorityTaskEntities.stream().map(Task::getId).toList()));
 
         List<ActionLogDTO> recentActivity = actionLogRepository.findAllByOrderByTimestampDesc(PageRequest.of(0, 5))
                 .stream().map(ActionLogDTO::fromEntity).toList();
@@ -0,0 +1,221 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.IpGeoLocation;
+import ch.goodone.angularai.backend.repository.IpGeoLocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fills in the location of historic action log entries. Distinct addresses without a country are scanned in
+ * chunks, resolved from the persistent store or the provider with bounded concurrency, and written back in batches.
+ */
+@Service
+public class GeoLocationBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeoLocationBackfillService.class);
+
+    private static final String SELECT_IPS_SQL = "SELECT DISTINCT ip_address FROM action_log "
+            + "WHERE country IS NULL AND ip_address IS NOT NULL AND ip_address > ? ORDER BY ip_address LIMIT ?";
+    private static final String UPDATE_SQL = "UPDATE action_log SET country = ?, city = ?, latitude = ?, longitude = ? "
+            + "WHERE ip_address = ? AND country IS NULL";
+
+    public record BackfillResult(int addresses, int resolved, int failed, int rowsUpdated) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IpGeoLocationRepository ipGeoLocationRepository;
+    private final GeoLocationProvider provider;
+    private final SystemSettingService systemSettingService;
+    private final int concurrency;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile BackfillResult lastResult;
+    private volatile LocalDateTime lastRunAt;
+
+    public GeoLocationBackfillService(JdbcTemplate jdbcTemplate, IpGeoLocationRepository ipGeoLocationRepository,
+                                      GeoLocationProvider provider, SystemSettingService systemSettingService,
+                                      @Value("${app.geolocation.backfill.concurrency:4}") int concurrency,
+                                      @Value("${app.geolocation.backfill.chunk-size:200}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ipGeoLocationRepository = ipGeoLocationRepository;
+        this.provider = provider;
+        this.systemSettingService = systemSettingService;
+        this.concurrency = concurrency;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Starts a backfill on a background thread.
+     *
+     * @return {@code false} when a backfill is already running
+     */
+    public boolean start() {
+        // Claim the run here, so that a second caller is refused before the first thread has even started
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            Thread.ofVirtual().name("geo-backfill").start(this::runClaimed);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    @Scheduled(cron = "${app.geolocation.backfill.cron:-}")
+    public void scheduledBackfill() {
+        backfill();
+    }
+
+    public BackfillResult backfill() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Geolocation backfill already running, skipping");
+            return null;
+        }
+        return runClaimed();
+    }
+
+    private BackfillResult runClaimed() {
+        try {
+            if (!systemSettingService.isGeolocationEnabled()) {
+                logger.info("Geolocation is disabled, skipping backfill");
+                return null;
+            }
+            BackfillResult result = runBackfill();
+            lastResult = result;
+            lastRunAt = LocalDateTime.now();
+            logger.info("Geolocation backfill finished: {}", result);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private BackfillResult runBackfill() {
+        int addresses = 0;
+        int resolved = 0;
+        int failed = 0;
+        int rowsUpdated = 0;
+        String lastIp = "";
+        try (ExecutorService executor = Executors.newFixedThreadPool(concurrency, Thread.ofVirtual().name("geo-backfill-", 0).factory())) {
+            List<String> chunk;
+            do {
+                chunk = jdbcTemplate.queryForList(SELECT_IPS_SQL, String.class, lastIp, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                lastIp = chunk.getLast();
+                addresses += chunk.size();
+                Map<String, IpLocationService.GeoLocation> locations = resolveAll(chunk, executor);
+                resolved += locations.size();
+                failed += chunk.size() - locations.size();
+                rowsUpdated += update(locations);
+            } while (chunk.size() == chunkSize);
+        }
+        return new BackfillResult(addresses, resolved, failed, rowsUpdated);
+    }
+
+    private Map<String, IpLocationService.GeoLocation> resolveAll(List<String> ips, ExecutorService executor) {
+        Map<String, IpLocationService.GeoLocation> locations = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        Map<String, IpGeoLocation> stored = new HashMap<>();
+        ipGeoLocationRepository.findAllById(ips).forEach(entry -> stored.put(entry.getIpAddress(), entry));
+        for (String ip : ips) {
+            IpGeoLocation entry = stored.get(ip);
+            if (entry != null) {
+                locations.put(ip, IpLocationService.toGeoLocation(entry));
+            } else if (!IpLocationService.isLocalAddress(ip)) {
+                missing.add(ip);
+            }
+        }
+
+        Map<String, Future<IpLocationService.GeoLocation>> lookups = new LinkedHashMap<>();
+        for (String ip : missing) {
+            lookups.put(ip, executor.submit(() -> provider.resolve(ip)));
+        }
+        List<IpGeoLocation> newEntries = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, Future<IpLocationService.GeoLocation>> lookup : lookups.entrySet()) {
+            IpLocationService.GeoLocation location = await(lookup.getValue());
+            if (location != null) {
+                locations.put(lookup.getKey(), location);
+                newEntries.add(new IpGeoLocation(lookup.getKey(), location.getCountry(), location.getCity(),
+                        location.getLatitude(), location.getLongitude(), now));
+            }
+        }
+        ipGeoLocationRepository.saveAll(newEntries);
+        return locations;
+    }
+
+    private IpLocationService.GeoLocation await(Future<IpLocationService.GeoLocation> lookup) {
+        try {
+            return lookup.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            logger.warn("Geolocation lookup failed during backfill: {}", e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    private int update(Map<String, IpLocationService.GeoLocation> locations) {
+        // Without a country the row would still look unresolved, so such results are only kept in the store
+        List<Map.Entry<String, IpLocationService.GeoLocation>> rows = locations.entrySet().stream()
+                .filter(entry -> entry.getValue().getCountry() != null)
+                .toList();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, rows, rows.size(), (ps, row) -> {
+            IpLocationService.GeoLocation location = row.getValue();
+            ps.setString(1, location.getCountry());
+            ps.setString(2, location.getCity());
+            ps.setObject(3, location.getLatitude(), Types.DOUBLE);
+            ps.setObject(4, location.getLongitude(), Types.DOUBLE);
+            ps.setString(5, row.getKey());
+        });
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                updated += Math.max(count, 0);
+            }
+        }
+        return updated;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        BackfillResult result = lastResult;
+        stats.put("running", running.get());
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("addresses", result != null ? result.addresses() : 0);
+        stats.put("resolved", result != null ? result.resolved() : 0);
+        stats.put("failed", result != null ? result.failed() : 0);
+        stats.put("rowsUpdated", result != null ? result.rowsUpdated() : 0);
+        return stats;
+    }
+}
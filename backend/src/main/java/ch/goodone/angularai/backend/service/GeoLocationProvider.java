@@ -0,0 +1,12 @@
+package ch.goodone.angularai.backend.service;
+
+/**
+ * Resolves an IP address against an external geolocation source, without any caching.
+ */
+public interface GeoLocationProvider {
+
+    /**
+     * @return the location, or {@code null} when the provider could not resolve the address
+     */
+    IpLocationService.GeoLocation resolve(String ip);
+}
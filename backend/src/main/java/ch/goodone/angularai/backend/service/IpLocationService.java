@@ -1,6 +1,9 @@
 package ch.goodone.angularai.backend.service;
 
+import ch.goodone.angularai.backend.model.IpGeoLocation;
+import ch.goodone.angularai.backend.repository.IpGeoLocationRepository;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpMethod;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -8,10 +11,18 @@ import org.springframework.web.client.RestTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-public class IpLocationService {
+public class IpLocationService implements GeoLocationProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(IpLocationService.class);
 
@@ -21,23 +32,124 @@ public class IpLocationService {
     @Value("${ipstack.api.url}")
     private String apiUrl;
 
+    @Value("${app.geolocation.cache.ttl-minutes:1440}")
+    private long ttlMinutes = 1440;
+
+    @Value("${app.geolocation.cache.failure-ttl-minutes:5}")
+    private long failureTtlMinutes = 5;
+
+    @Value("${app.geolocation.cache.prefix-keys:false}")
+    private boolean prefixKeys;
+
+    @Value("${app.geolocation.store.max-age-days:30}")
+    private long storeMaxAgeDays = 30;
+
     private final RestTemplate restTemplate;
     private final SystemSettingService systemSettingService;
+    private final IpGeoLocationRepository ipGeoLocationRepository;
+    private final ExpiringCache<String, CachedLookup> cache = new ExpiringCache<>(10_000, Clock.systemUTC());
+    private final AtomicLong storeHits = new AtomicLong();
+    private final AtomicLong providerCalls = new AtomicLong();
+    private final AtomicLong providerFailures = new AtomicLong();
+    private final AtomicLong providerNanos = new AtomicLong();
+    private final AtomicLong maxProviderNanos = new AtomicLong();
+
+    private record CachedLookup(GeoLocation location, boolean failed) {
+    }
 
-    public IpLocationService(SystemSettingService systemSettingService, RestTemplate restTemplate) {
+    public IpLocationService(SystemSettingService systemSettingService, RestTemplate restTemplate,
+                             IpGeoLocationRepository ipGeoLocationRepository) {
         this.restTemplate = restTemplate;
         this.systemSettingService = systemSettingService;
+        this.ipGeoLocationRepository = ipGeoLocationRepository;
+    }
+
+    @Value("${app.geolocation.cache.max-entries:10000}")
+    void setMaxCacheEntries(int maxEntries) {
+        cache.setMaxSize(maxEntries);
     }
 
-    @SuppressWarnings("PMD.AvoidUsingHardCodedIP")
     public GeoLocation lookup(String ip) {
         if (!systemSettingService.isGeolocationEnabled()) {
             return new GeoLocation();
         }
-        if (ip == null || ip.equals("0:0:0:0:0:0:0:1") || ip.equals("127.0.0.1") || ip.startsWith("192.168.") || ip.startsWith("10.") || ip.startsWith("172.")) {
+        if (isLocalAddress(ip)) {
             logger.info("Skipping geolocation lookup for local/private IP");
             return new GeoLocation();
         }
+        String key = prefixKeys ? networkPrefix(ip) : ip;
+        CachedLookup result = cache.get(key, k -> fetch(ip), this::ttlFor);
+        return copy(result.location());
+    }
+
+    @SuppressWarnings("PMD.AvoidUsingHardCodedIP")
+    static boolean isLocalAddress(String ip) {
+        return ip == null || ip.equals("0:0:0:0:0:0:0:1") || ip.equals("127.0.0.1") || ip.startsWith("192.168.") || ip.startsWith("10.") || ip.startsWith("172.");
+    }
+
+    private Duration ttlFor(CachedLookup lookup) {
+        return Duration.ofMinutes(lookup.failed() ? failureTtlMinutes : ttlMinutes);
+    }
+
+    private CachedLookup fetch(String ip) {
+        GeoLocation stored = findStored(ip);
+        if (stored != null) {
+            storeHits.incrementAndGet();
+            return new CachedLookup(stored, false);
+        }
+        long started = System.nanoTime();
+        providerCalls.incrementAndGet();
+        try {
+            GeoLocation location = resolve(ip);
+            if (location == null) {
+                providerFailures.incrementAndGet();
+                return new CachedLookup(new GeoLocation(), true);
+            }
+            store(ip, location);
+            return new CachedLookup(location, false);
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            providerNanos.addAndGet(elapsed);
+            maxProviderNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    /**
+     * Returns the persisted location of the address unless it is older than the configured maximum age.
+     */
+    GeoLocation findStored(String ip) {
+        try {
+            return ipGeoLocationRepository.findById(ip)
+                    .filter(entry -> entry.getResolvedAt().isAfter(LocalDateTime.now().minusDays(storeMaxAgeDays)))
+                    .map(IpLocationService::toGeoLocation)
+                    .orElse(null);
+        } catch (DataAccessException e) {
+            logger.warn("Could not read stored geolocation: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    void store(String ip, GeoLocation location) {
+        try {
+            ipGeoLocationRepository.save(new IpGeoLocation(ip, location.getCountry(), location.getCity(),
+                    location.getLatitude(), location.getLongitude(), LocalDateTime.now()));
+        } catch (DataAccessException e) {
+            // Another instance may have stored the same address concurrently; the cached result is still valid
+            logger.warn("Could not store geolocation: {}", e.getMessage());
+        }
+    }
+
+    static GeoLocation toGeoLocation(IpGeoLocation entry) {
+        GeoLocation location = new GeoLocation();
+        location.setCountry(entry.getCountry());
+        location.setCity(entry.getCity());
+        location.setLatitude(entry.getLatitude());
+        location.setLongitude(entry.getLongitude());
+        return location;
+    }
+
+    @Override
+    public GeoLocation resolve(String ip) {
         try {
             String url = String.format("%s%s?access_key=%s", apiUrl, ip, apiKey);
             logger.info("Requesting geolocation for IP from provider");
@@ -51,7 +163,7 @@ public class IpLocationService {
             if (response != null) {
                 if (response.containsKey("error")) {
                     logger.error("IpStack API returned error");
-                    return new GeoLocation();
+                    return null;
                 }
 
                 GeoLocation loc = new GeoLocation();
@@ -68,7 +180,55 @@ public class IpLocationService {
         } catch (Exception e) {
             logger.error("Error looking up IP location");
         }
-        return new GeoLocation();
+        return null;
+    }
+
+    /**
+     * Collapses an address to its /24 (IPv4) or /64 (IPv6) network so neighbouring hosts share one cache entry.
+     */
+    static String networkPrefix(String ip) {
+        if (ip.indexOf(':') >= 0) {
+            try {
+                byte[] address = InetAddress.getByName(ip).getAddress();
+                if (address.length == 16) {
+                    return HexFormat.of().formatHex(address, 0, 8) + "::/64";
+                }
+            } catch (UnknownHostException e) {
+                return ip;
+            }
+            return ip;
+        }
+        int lastDot = ip.lastIndexOf('.');
+        return lastDot > 0 ? ip.substring(0, lastDot) + ".0/24" : ip;
+    }
+
+    private GeoLocation copy(GeoLocation source) {
+        GeoLocation location = new GeoLocation();
+        location.setCountry(source.getCountry());
+        location.setCity(source.getCity());
+        location.setLatitude(source.getLatitude());
+        location.setLongitude(source.getLongitude());
+        return location;
+    }
+
+    public void clearCache() {
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> getStats() {
+        long calls = providerCalls.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cacheSize", cache.size());
+        stats.put("hits", cache.getHitCount());
+        stats.put("misses", cache.getMissCount());
+        stats.put("coalesced", cache.getCoalescedCount());
+        stats.put("evictions", cache.getEvictionCount());
+        stats.put("storeHits", storeHits.get());
+        stats.put("providerCalls", calls);
+        stats.put("providerFailures", providerFailures.get());
+        stats.put("avgProviderLatencyMs", calls > 0 ? providerNanos.get() / calls / 1_000_000 : 0);
+        stats.put("maxProviderLatencyMs", maxProviderNanos.get() / 1_000_000);
+        return stats;
     }
 
     private Double toDouble(Object value) {
@@ -0,0 +1,77 @@
+package ch.goodone.angularai.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tracks failed logins per IP and per login in memory so attack checks never have to count action log rows.
+ */
+@Component
+public class LoginAttackDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttackDetector.class);
+    private static final int BUCKETS_PER_WINDOW = 12;
+
+    private final SlidingWindowCounters failuresByIp;
+    private final SlidingWindowCounters failuresByLogin;
+    private final int ipThreshold;
+    private final int loginThreshold;
+    private final Clock clock;
+
+    @Autowired
+    public LoginAttackDetector(@Value("${app.security.attack-detection.window-seconds:60}") long windowSeconds,
+                               @Value("${app.security.attack-detection.ip-threshold:10}") int ipThreshold,
+                               @Value("${app.security.attack-detection.login-threshold:5}") int loginThreshold,
+                               @Value("${app.security.attack-detection.max-keys:100000}") int maxKeys) {
+        this(windowSeconds, ipThreshold, loginThreshold, maxKeys, Clock.systemUTC());
+    }
+
+    LoginAttackDetector(long windowSeconds, int ipThreshold, int loginThreshold, int maxKeys, Clock clock) {
+        this.failuresByIp = new SlidingWindowCounters(windowSeconds * 1000, BUCKETS_PER_WINDOW, maxKeys, ipThreshold);
+        this.failuresByLogin = new SlidingWindowCounters(windowSeconds * 1000, BUCKETS_PER_WINDOW, maxKeys, loginThreshold);
+        this.ipThreshold = ipThreshold;
+        this.loginThreshold = loginThreshold;
+        this.clock = clock;
+    }
+
+    @EventListener
+    public void onAuthenticationFailure(AbstractAuthenticationFailureEvent event) {
+        RequestForensics forensics = RequestForensics.current();
+        recordFailure(event.getAuthentication().getName(), forensics != null ? forensics.ipAddress() : null);
+    }
+
+    public void recordFailure(String login, String ip) {
+        long now = clock.millis();
+        // Alert once when a threshold is crossed instead of on every further attempt
+        if (failuresByIp.increment(ip, now) == ipThreshold + 1) {
+            logger.warn("ALERT: Potential Credential Stuffing detected from IP: {}", ip);
+        }
+        if (failuresByLogin.increment(login, now) == loginThreshold + 1) {
+            logger.warn("ALERT: Potential Brute Force detected for User: {}", login);
+        }
+    }
+
+    public boolean isSuspiciousIp(String ip) {
+        return failuresByIp.count(ip, clock.millis()) > ipThreshold;
+    }
+
+    public boolean isSuspiciousLogin(String login) {
+        return failuresByLogin.count(login, clock.millis()) > loginThreshold;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedIps", failuresByIp.size());
+        stats.put("trackedLogins", failuresByLogin.size());
+        return stats;
+    }
+}
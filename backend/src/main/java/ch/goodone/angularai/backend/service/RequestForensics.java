@@ -0,0 +1,64 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.ActionLog;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Request data recorded on action log entries. Async workers no longer see the request,
+ * so a snapshot taken on the submitting thread is handed over through {@link #propagate(Runnable)}.
+ */
+public record RequestForensics(String method, String uri, String sessionId, String ipAddress, String userAgent) {
+
+    private static final ThreadLocal<RequestForensics> PROPAGATED = new ThreadLocal<>();
+
+    public static RequestForensics of(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        String ip = request.getRemoteAddr();
+        String xforwardedFor = request.getHeader("X-Forwarded-For");
+        if (xforwardedFor != null && !xforwardedFor.isEmpty()) {
+            ip = xforwardedFor.split(",")[0];
+        }
+        return new RequestForensics(request.getMethod(), request.getRequestURI(), session != null ? session.getId() : null,
+                ip, request.getHeader("User-Agent"));
+    }
+
+    public static RequestForensics current() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return of(attributes.getRequest());
+        }
+        return PROPAGATED.get();
+    }
+
+    public static Runnable propagate(Runnable task) {
+        RequestForensics forensics = current();
+        if (forensics == null) {
+            return task;
+        }
+        return () -> {
+            RequestForensics previous = PROPAGATED.get();
+            PROPAGATED.set(forensics);
+            try {
+                task.run();
+            } finally {
+                PROPAGATED.set(previous);
+            }
+        };
+    }
+
+    public void applyTo(ActionLog log) {
+        log.setRequestMethod(method);
+        log.setRequestUri(uri);
+        if (sessionId != null) {
+            log.setSessionId(sessionId);
+        }
+        if (log.getIpAddress() == null) {
+            log.setIpAddress(ipAddress);
+        }
+        if (log.getUserAgent() == null) {
+            log.setUserAgent(userAgent);
+        }
+    }
+}
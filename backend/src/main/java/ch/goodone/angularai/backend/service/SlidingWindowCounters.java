@@ -0,0 +1,132 @@
+package ch.goodone.angularai.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-key event counts over a sliding time window. Each key owns a ring of time buckets plus a running total,
+ * so adding and counting cost O(1). The number of tracked keys is capped; when full, expired keys go first, then the
+ * lowest and least recently updated counts. Keys that reached {@code keepAtCount} are never dropped, so a flood of
+ * distinct keys cannot reset the count of the key under attack; only such keys can grow the map beyond the cap.
+ */
+class SlidingWindowCounters {
+
+    private record Candidate(String key, Window window, int count, long updatedBucket) {
+    }
+
+    private static final Comparator<Candidate> EVICTION_ORDER = Comparator.comparingInt(Candidate::count)
+            .thenComparingLong(Candidate::updatedBucket);
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int maxKeys;
+    private final int keepAtCount;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    SlidingWindowCounters(long windowMillis, int bucketCount, int maxKeys, int keepAtCount) {
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+        this.bucketCount = bucketCount;
+        this.maxKeys = maxKeys;
+        this.keepAtCount = keepAtCount;
+    }
+
+    int increment(String key, long nowMillis) {
+        if (key == null) {
+            return 0;
+        }
+        Window window = windows.get(key);
+        if (window == null) {
+            if (windows.size() >= maxKeys) {
+                evict(nowMillis);
+            }
+            window = windows.computeIfAbsent(key, k -> new Window(bucketCount));
+        }
+        return window.add(nowMillis / bucketMillis);
+    }
+
+    int count(String key, long nowMillis) {
+        Window window = key != null ? windows.get(key) : null;
+        return window != null ? window.count(nowMillis / bucketMillis) : 0;
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    private synchronized void evict(long nowMillis) {
+        if (windows.size() < maxKeys) {
+            // Another thread made room meanwhile
+            return;
+        }
+        long bucket = nowMillis / bucketMillis;
+        windows.values().removeIf(w -> w.isExpired(bucket));
+        int target = maxKeys - Math.max(1, maxKeys / 10);
+        if (windows.size() <= target) {
+            return;
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        windows.forEach((key, window) -> {
+            int count = window.count(bucket);
+            if (count < keepAtCount) {
+                candidates.add(new Candidate(key, window, count, window.updatedBucket()));
+            }
+        });
+        candidates.sort(EVICTION_ORDER);
+        for (int i = 0; i < candidates.size() && windows.size() > target; i++) {
+            Candidate candidate = candidates.get(i);
+            windows.remove(candidate.key(), candidate.window());
+        }
+    }
+
+    private static final class Window {
+        private final int[] counts;
+        private long headBucket;
+        private long updatedBucket;
+        private int total;
+
+        private Window(int bucketCount) {
+            this.counts = new int[bucketCount];
+        }
+
+        synchronized int add(long bucket) {
+            advance(bucket);
+            counts[(int) (bucket % counts.length)]++;
+            updatedBucket = bucket;
+            return ++total;
+        }
+
+        synchronized int count(long bucket) {
+            advance(bucket);
+            return total;
+        }
+
+        synchronized long updatedBucket() {
+            return updatedBucket;
+        }
+
+        synchronized boolean isExpired(long bucket) {
+            return bucket - headBucket >= counts.length;
+        }
+
+        private void advance(long bucket) {
+            if (bucket <= headBucket) {
+                return;
+            }
+            if (bucket - headBucket >= counts.length) {
+                Arrays.fill(counts, 0);
+                total = 0;
+            } else {
+                for (long b = headBucket + 1; b <= bucket; b++) {
+                    int index = (int) (b % counts.length);
+                    total -= counts[index];
+                    counts[index] = 0;
+                }
+            }
+            headBucket = bucket;
+        }
+    }
+}
@@ -2,29 +2,44 @@ package ch.goodone.angularai.backend.service;
 
 import ch.goodone.angularai.backend.model.SystemSetting;
 import ch.goodone.angularai.backend.repository.SystemSettingRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Serves settings from an immutable in-memory snapshot that is swapped as a whole. Every write also stores a new
+ * {@link #SETTINGS_VERSION} token, which other instances poll to notice that their snapshot is stale.
+ */
 @Service
 public class SystemSettingService {
 
     public static final String GEOLOCATION_ENABLED = "geolocation_enabled";
     public static final String RECAPTCHA_CONFIG_INDEX = "recaptcha_config_index";
     public static final String LANDING_MESSAGE_ENABLED = "landing_message_enabled";
+    public static final String SETTINGS_VERSION = "settings_version";
 
     private final SystemSettingRepository repository;
 
     @org.springframework.beans.factory.annotation.Value("${google.recaptcha.default.config:1}")
     private String defaultRecaptchaConfig;
 
+    private volatile Map<String, String> snapshot;
+
     public SystemSettingService(SystemSettingRepository repository) {
         this.repository = repository;
     }
 
     public boolean isGeolocationEnabled() {
-        return repository.findById(GEOLOCATION_ENABLED)
-                .map(setting -> Boolean.parseBoolean(setting.getValue()))
-                .orElse(false);
+        return Boolean.parseBoolean(settings().getOrDefault(GEOLOCATION_ENABLED, "false"));
     }
 
     @Transactional
@@ -32,19 +47,19 @@ public class SystemSettingService {
         SystemSetting setting = repository.findById(GEOLOCATION_ENABLED)
                 .orElse(new SystemSetting(GEOLOCATION_ENABLED, "false"));
         setting.setValue(String.valueOf(enabled));
-        repository.save(setting);
+        save(setting);
     }
 
     public int getRecaptchaConfigIndex() {
-        return repository.findById(RECAPTCHA_CONFIG_INDEX)
-                .map(setting -> {
-                    try {
-                        return Integer.parseInt(setting.getValue());
-                    } catch (NumberFormatException e) {
-                        return parseDefaultConfig();
-                    }
-                })
-                .orElseGet(this::parseDefaultConfig);
+        String value = settings().get(RECAPTCHA_CONFIG_INDEX);
+        if (value == null) {
+            return parseDefaultConfig();
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return parseDefaultConfig();
+        }
     }
 
     private int parseDefaultConfig() {
@@ -60,18 +75,11 @@ public class SystemSettingService {
         SystemSetting setting = repository.findById(RECAPTCHA_CONFIG_INDEX)
                 .orElse(new SystemSetting(RECAPTCHA_CONFIG_INDEX, defaultRecaptchaConfig));
         setting.setValue(String.valueOf(index));
-        repository.save(setting);
+        save(setting);
     }
 
-    @Transactional
     public boolean isLandingMessageEnabled() {
-        return repository.findById(LANDING_MESSAGE_ENABLED)
-                .map(setting -> Boolean.parseBoolean(setting.getValue()))
-                .orElseGet(() -> {
-                    SystemSetting setting = new SystemSetting(LANDING_MESSAGE_ENABLED, "true");
-                    repository.save(setting);
-                    return true;
-                });
+        return Boolean.parseBoolean(settings().getOrDefault(LANDING_MESSAGE_ENABLED, "true"));
     }
 
     @Transactional
@@ -79,6 +87,53 @@ public class SystemSettingService {
         SystemSetting setting = repository.findById(LANDING_MESSAGE_ENABLED)
                 .orElse(new SystemSetting(LANDING_MESSAGE_ENABLED, "true"));
         setting.setValue(String.valueOf(enabled));
+        save(setting);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        Map<String, String> values = new HashMap<>();
+        for (SystemSetting setting : repository.findAll()) {
+            if (setting.getValue() != null) {
+                values.put(setting.getKey(), setting.getValue());
+            }
+        }
+        snapshot = Map.copyOf(values);
+    }
+
+    /**
+     * Reloads the snapshot when another instance has changed a setting since it was taken.
+     */
+    @Scheduled(fixedDelayString = "${app.settings.refresh-interval-ms:10000}")
+    public void refreshIfChanged() {
+        Map<String, String> current = snapshot;
+        String version = repository.findById(SETTINGS_VERSION).map(SystemSetting::getValue).orElse(null);
+        if (current == null || !Objects.equals(version, current.get(SETTINGS_VERSION))) {
+            refresh();
+        }
+    }
+
+    private Map<String, String> settings() {
+        Map<String, String> current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private void save(SystemSetting setting) {
         repository.save(setting);
+        repository.save(new SystemSetting(SETTINGS_VERSION, UUID.randomUUID().toString()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
     }
 }
@@ -0,0 +1,85 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.service.TaskParserService.ParsedTask;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static ch.goodone.angularai.backend.config.AsyncConfig.PARSER_EXECUTOR;
+
+/**
+ * Parses many lines of free text at once. Lines are handed to the parser pool in chunks as soon as a chunk is
+ * complete, so a streamed body is parsed while it is still being read, and the results are returned in input order.
+ * Blank lines are skipped.
+ */
+@Service
+public class TaskBatchAnalyzer {
+
+    private final TaskParserService taskParserService;
+    private final Executor executor;
+    private final int maxLines;
+    private final int chunkSize;
+
+    public TaskBatchAnalyzer(TaskParserService taskParserService,
+                             @Qualifier(PARSER_EXECUTOR) Executor executor,
+                             @Value("${app.tasks.analyze.max-lines:1000}") int maxLines,
+                             @Value("${app.tasks.analyze.chunk-size:50}") int chunkSize) {
+        this.taskParserService = taskParserService;
+        this.executor = executor;
+        this.maxLines = maxLines;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<ParsedTask> analyze(List<String> lines) {
+        return analyze(lines.iterator());
+    }
+
+    public List<ParsedTask> analyze(Reader reader) {
+        return analyze(new BufferedReader(reader).lines().iterator());
+    }
+
+    private List<ParsedTask> analyze(Iterator<String> lines) {
+        List<CompletableFuture<List<ParsedTask>>> chunks = new ArrayList<>();
+        List<String> chunk = new ArrayList<>(chunkSize);
+        int count = 0;
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line == null || line.isBlank()) {
+                continue;
+            }
+            if (++count > maxLines) {
+                throw new IllegalArgumentException("At most " + maxLines + " lines can be analyzed at once");
+            }
+            chunk.add(line);
+            if (chunk.size() == chunkSize) {
+                List<String> full = chunk;
+                chunks.add(CompletableFuture.supplyAsync(() -> parse(full), executor));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        // The caller parses the last partial chunk while the pool works on the others, instead of waiting idle
+        List<ParsedTask> tail = parse(chunk);
+        List<ParsedTask> results = new ArrayList<>(count);
+        for (CompletableFuture<List<ParsedTask>> future : chunks) {
+            results.addAll(future.join());
+        }
+        results.addAll(tail);
+        return results;
+    }
+
+    private List<ParsedTask> parse(List<String> lines) {
+        List<ParsedTask> parsed = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            parsed.add(taskParserService.parse(line));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,398 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.dto.TaskDTO;
+import ch.goodone.angularai.backend.dto.TaskImportResultDTO;
+import ch.goodone.angularai.backend.model.Priority;
+import ch.goodone.angularai.backend.model.TaskStatus;
+import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.TaskRepository;
+import ch.goodone.angularai.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Imports tasks from NDJSON or CSV while the body is being read. Rows that fail validation are skipped and reported
+ * with their line number. Valid rows are collected into batches, and each batch is appended after the user's last
+ * task in a short transaction of its own, so the owner lock is not held while the client uploads the next batch.
+ * Batches committed before a failure stay imported. The import writes a single action log entry. Imported rows bypass
+ * the entity layer, so they get no audit revision until they are first changed.
+ */
+@Service
+public class TaskImportService {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+    static final int MAX_TITLE_LENGTH = 255;
+    static final int MAX_DESCRIPTION_LENGTH = 1000;
+    static final int MAX_TAG_LENGTH = 255;
+
+    private static final String INSERT_TASK_SQL = "INSERT INTO tasks (title, description, due_date, priority, status, position, "
+            + "user_id, created_at, updated_at, completed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TAG_SQL = "INSERT INTO task_tags (task_id, tag) VALUES (?, ?)";
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private record Row(TaskDTO task, TaskStatus status) {
+    }
+
+    /**
+     * Next task of the input, or {@code null} at its end. Rows that are present but not a task throw instead.
+     */
+    private interface RowSource {
+        TaskDTO next() throws IOException;
+    }
+
+    /**
+     * Counts physical lines, so that errors can name the line a row starts on.
+     */
+    private static final class LineReader {
+        private final BufferedReader reader;
+        private int line;
+        private int rowStart;
+
+        private LineReader(Reader reader) {
+            this.reader = new BufferedReader(reader);
+        }
+
+        private String readLine() throws IOException {
+            String value = reader.readLine();
+            if (value != null) {
+                line++;
+            }
+            return value;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ActionLogService actionLogService;
+    private final DashboardCounters dashboardCounters;
+    private final TaskSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final JsonMapper jsonMapper = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    public TaskImportService(JdbcTemplate jdbcTemplate, TaskRepository taskRepository, UserRepository userRepository,
+                             ActionLogService actionLogService, DashboardCounters dashboardCounters, TaskSearchIndex searchIndex,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.tasks.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.actionLogService = actionLogService;
+        this.dashboardCounters = dashboardCounters;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the input as a whole cannot be imported, e.g. a CSV header without title
+     */
+    public TaskImportResultDTO importTasks(User user, Reader body, Format format) {
+        TaskImportResultDTO result = new TaskImportResultDTO();
+        Map<TaskStatus, Integer> created = new EnumMap<>(TaskStatus.class);
+        LocalDateTime now = LocalDateTime.now();
+        boolean complete = false;
+        try {
+            importRows(user, new LineReader(body), format, result, created, now);
+            complete = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read task import", e);
+        } finally {
+            // Batches committed before a failure are counted and logged as well
+            if (complete || result.getImported() > 0) {
+                dashboardCounters.tasksCreated(created, now);
+                searchIndex.tasksChanged(user);
+                actionLogService.log(user.getLogin(), "TASK_IMPORTED",
+                        "Imported " + result.getImported() + " tasks from " + format + ", rejected " + result.getRejected() + " rows");
+            }
+        }
+        return result;
+    }
+
+    private void importRows(User user, LineReader in, Format format, TaskImportResultDTO result,
+                            Map<TaskStatus, Integer> created, LocalDateTime now) throws IOException {
+        RowSource source = format == Format.CSV ? csvSource(in) : ndjsonSource(in);
+        List<Row> batch = new ArrayList<>(batchSize);
+        while (true) {
+            TaskDTO task;
+            TaskStatus status;
+            try {
+                task = source.next();
+                if (task == null) {
+                    break;
+                }
+                status = validate(task);
+            } catch (IllegalArgumentException | DateTimeException | JacksonException e) {
+                reject(result, in.rowStart, e instanceof JacksonException je ? je.getOriginalMessage() : e.getMessage());
+                continue;
+            }
+            batch.add(new Row(task, status));
+            if (batch.size() == batchSize) {
+                insertBatch(user, batch, now, result, created);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(user, batch, now, result, created);
+        }
+    }
+
+    private void insertBatch(User user, List<Row> batch, LocalDateTime now, TaskImportResultDTO result,
+                             Map<TaskStatus, Integer> created) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Same owner lock as single creates, so the positions handed out below stay unique
+            userRepository.findByIdForUpdate(user.getId());
+            Integer first = TaskOrdering.append(taskRepository.findMaxPositionByUser(user), batch.size());
+            if (first == null) {
+                throw new IllegalArgumentException("Import exceeds the task position range");
+            }
+            insert(batch, first, user, now);
+        });
+        result.setImported(result.getImported() + batch.size());
+        for (Row row : batch) {
+            created.merge(row.status(), 1, Integer::sum);
+        }
+    }
+
+    private static void reject(TaskImportResultDTO result, int line, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new TaskImportResultDTO.RowError(line, message));
+        }
+    }
+
+    private static TaskStatus validate(TaskDTO task) {
+        String title = task.getTitle();
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("title is required");
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("title is longer than " + MAX_TITLE_LENGTH + " characters");
+        }
+        if (task.getDescription() != null && task.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("description is longer than " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        if (task.getTags() != null) {
+            for (String tag : task.getTags()) {
+                if (tag == null || tag.isBlank() || tag.length() > MAX_TAG_LENGTH) {
+                    throw new IllegalArgumentException("tags must be non-blank and at most " + MAX_TAG_LENGTH + " characters");
+                }
+            }
+        }
+        return task.getStatus() == null || task.getStatus().isBlank()
+                ? TaskStatus.OPEN
+                : enumValue(TaskStatus.class, "status", task.getStatus());
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown " + name + " '" + value + "'");
+        }
+    }
+
+    private void insert(List<Row> rows, int firstPosition, User user, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_TASK_SQL, new String[]{"id"}), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Row row = rows.get(i);
+                TaskDTO task = row.task();
+                ps.setString(1, task.getTitle());
+                ps.setString(2, task.getDescription());
+                ps.setObject(3, task.getDueDate());
+                ps.setString(4, (task.getPriority() != null ? task.getPriority() : Priority.MEDIUM).name());
+                ps.setString(5, row.status().name());
+                ps.setInt(6, firstPosition + i * TaskOrdering.POSITION_GAP);
+                ps.setLong(7, user.getId());
+                ps.setTimestamp(8, timestamp);
+                ps.setTimestamp(9, timestamp);
+                ps.setTimestamp(10, row.status() == TaskStatus.DONE ? timestamp : null);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        }, keys);
+
+        List<Map<String, Object>> ids = keys.getKeyList();
+        List<Object[]> tags = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            List<String> rowTags = rows.get(i).task().getTags();
+            if (rowTags != null && !rowTags.isEmpty()) {
+                Number id = (Number) ids.get(i).values().iterator().next();
+                for (String tag : rowTags) {
+                    tags.add(new Object[]{id.longValue(), tag});
+                }
+            }
+        }
+        if (!tags.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG_SQL, tags);
+        }
+    }
+
+    private RowSource ndjsonSource(LineReader in) {
+        return () -> {
+            String line;
+            do {
+                line = in.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            in.rowStart = in.line;
+            TaskDTO task = jsonMapper.readValue(line, TaskDTO.class);
+            if (task == null) {
+                // A JSON null is a row, not the end of the input
+                throw new IllegalArgumentException("row must be a JSON object");
+            }
+            return task;
+        };
+    }
+
+    /**
+     * Reads CSV with a header row naming the columns {@code title}, {@code description}, {@code dueDate} (ISO date),
+     * {@code priority}, {@code status} and {@code tags} (separated by {@code ;}), in any order. Only title is required.
+     */
+    private RowSource csvSource(LineReader in) throws IOException {
+        List<String> header = readCsvRecord(in);
+        while (header != null && isBlank(header)) {
+            header = readCsvRecord(in);
+        }
+        if (header == null) {
+            return () -> null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IllegalArgumentException("CSV header must contain a title column");
+        }
+        return () -> {
+            List<String> record;
+            do {
+                record = readCsvRecord(in);
+            } while (record != null && isBlank(record));
+            if (record == null) {
+                return null;
+            }
+            TaskDTO task = new TaskDTO();
+            task.setTitle(field(record, columns, "title"));
+            task.setDescription(field(record, columns, "description"));
+            task.setStatus(field(record, columns, "status"));
+            String dueDate = field(record, columns, "duedate");
+            task.setDueDate(dueDate != null ? LocalDate.parse(dueDate) : null);
+            String priority = field(record, columns, "priority");
+            task.setPriority(priority != null ? enumValue(Priority.class, "priority", priority) : null);
+            String tags = field(record, columns, "tags");
+            if (tags != null) {
+                List<String> values = new ArrayList<>();
+                for (String tag : tags.split(";")) {
+                    if (!tag.isBlank()) {
+                        values.add(tag.trim());
+                    }
+                }
+                task.setTags(values);
+            }
+            return task;
+        };
+    }
+
+    private static boolean isBlank(List<String> record) {
+        return record.size() == 1 && record.get(0).isBlank();
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads one RFC 4180 record, which continues on the next line while a quoted field is open.
+     */
+    private static List<String> readCsvRecord(LineReader in) throws IOException {
+        String line = in.readLine();
+        if (line == null) {
+            return null;
+        }
+        in.rowStart = in.line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                line = in.readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("unterminated quoted field");
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
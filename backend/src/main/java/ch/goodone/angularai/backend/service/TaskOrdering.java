@@ -0,0 +1,147 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.Task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Gap-based task positions: tasks are spaced {@link #POSITION_GAP} apart so a move only rewrites the moved task.
+ */
+final class TaskOrdering {
+
+    static final int POSITION_GAP = 1024;
+    static final int MIN_POSITION_GAP = 8;
+
+    static final Comparator<Task> BY_POSITION = Comparator
+            .comparing(Task::getPosition, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Task::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    record Placement(List<Task> changed, boolean tight) {
+    }
+
+    private TaskOrdering() {
+    }
+
+    /**
+     * Position strictly between the two neighbours, or {@code null} if there is none left in the int range and the
+     * positions need respacing.
+     */
+    static Integer between(Integer before, Integer after) {
+        if (after == null) {
+            return append(before, 1);
+        }
+        if (before == null) {
+            long position = (long) after - POSITION_GAP;
+            return position >= Integer.MIN_VALUE ? (int) position : null;
+        }
+        if ((long) after - before < 2) {
+            return null;
+        }
+        return (int) (((long) before + after) / 2);
+    }
+
+    /**
+     * First of {@code count} positions spaced {@link #POSITION_GAP} apart after {@code last}, or {@code null} if the
+     * last of them would not fit into an int and the positions need respacing.
+     */
+    static Integer append(Integer last, int count) {
+        long first = last != null ? (long) last + POSITION_GAP : 0;
+        return first + (long) Math.max(count - 1, 0) * POSITION_GAP <= Integer.MAX_VALUE ? (int) first : null;
+    }
+
+    static boolean isTight(Integer before, Integer after) {
+        return before != null && after != null && (long) after - before < 2L * MIN_POSITION_GAP;
+    }
+
+    /**
+     * Brings {@code ordered} into the given order by keeping the longest run of tasks that is already sorted
+     * and placing only the remaining tasks into the gaps between them.
+     */
+    static Placement applyOrder(List<Task> ordered) {
+        boolean[] keep = longestSortedRun(ordered);
+        List<Task> changed = new ArrayList<>();
+        boolean tight = false;
+        int start = 0;
+        while (start < ordered.size()) {
+            if (keep[start]) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < ordered.size() && !keep[end]) {
+                end++;
+            }
+            Integer lower = start > 0 ? ordered.get(start - 1).getPosition() : null;
+            Integer upper = end < ordered.size() ? ordered.get(end).getPosition() : null;
+            int count = end - start;
+            long step = POSITION_GAP;
+            if (lower != null && upper != null) {
+                step = ((long) upper - lower) / (count + 1);
+                if (step < 1) {
+                    return new Placement(respace(ordered), false);
+                }
+                tight |= step < MIN_POSITION_GAP;
+            }
+            long first = lower != null ? lower + step : upper != null ? upper - count * step : 0;
+            if (first < Integer.MIN_VALUE || first + (count - 1) * step > Integer.MAX_VALUE) {
+                return new Placement(respace(ordered), false);
+            }
+            for (int i = 0; i < count; i++) {
+                setPosition(ordered.get(start + i), (int) (first + i * step), changed);
+            }
+            start = end;
+        }
+        return new Placement(changed, tight);
+    }
+
+    static List<Task> respace(List<Task> ordered) {
+        List<Task> changed = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            setPosition(ordered.get(i), i * POSITION_GAP, changed);
+        }
+        return changed;
+    }
+
+    private static void setPosition(Task task, int position, List<Task> changed) {
+        if (task.getPosition() == null || task.getPosition() != position) {
+            task.setPosition(position);
+            changed.add(task);
+        }
+    }
+
+    private static boolean[] longestSortedRun(List<Task> ordered) {
+        int n = ordered.size();
+        int[] tails = new int[n];
+        int[] previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            previous[i] = -1;
+            Integer position = ordered.get(i).getPosition();
+            if (position == null) {
+                continue;
+            }
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ordered.get(tails[mid]).getPosition() < position) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            previous[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) {
+                length++;
+            }
+        }
+        boolean[] keep = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            keep[i] = true;
+        }
+        return keep;
+    }
+}
@@ -2,11 +2,22 @@ package ch.goodone.angularai.backend.service;
 
 import ch.goodone.angularai.backend.model.Priority;
 import ch.goodone.angularai.backend.model.TaskStatus;
+import ch.goodone.angularai.backend.service.TaskVocabulary.Kind;
+import ch.goodone.angularai.backend.service.TaskVocabulary.Match;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
-
+import java.util.Locale;
+
+/**
+ * Turns a single line of free text into task fields. The input is either split into delimited or CSV columns, or
+ * tokenized once on whitespace, after which status, priority and due date are picked from the end of the line and the
+ * remaining tokens form the title. Keywords and phrases come from the {@link TaskVocabulary} of all locales, which is
+ * loaded once and finds them in a single scan over the tokens.
+ */
 @Service
 public class TaskParserService {
 
@@ -19,17 +30,27 @@ public class TaskParserService {
             List<String> tags
     ) {}
 
+    private final TaskVocabulary vocabulary;
+
+    public TaskParserService() {
+        this(TaskVocabulary.load());
+    }
+
+    TaskParserService(TaskVocabulary vocabulary) {
+        this.vocabulary = vocabulary;
+    }
+
     public ParsedTask parse(String input) {
         if (input == null || input.trim().isEmpty()) {
             return new ParsedTask("", "", null, Priority.MEDIUM, TaskStatus.OPEN, List.of());
         }
 
         String value = sanitizeInput(input);
-        
-        if (value.contains("|") || value.contains(";")) {
-            return parseDelimited(value, "[|;]");
-        } else if (value.contains(",")) {
-            String[] parts = value.split(",");
+
+        if (value.indexOf('|') >= 0 || value.indexOf(';') >= 0) {
+            return parseDelimited(split(value, '|', ';'));
+        } else if (value.indexOf(',') >= 0) {
+            String[] parts = split(value, ',', ',');
             if (isLikelyCsv(parts)) {
                 return parseCsv(parts);
             }
@@ -46,8 +67,28 @@ public class TaskParserService {
         return value;
     }
 
-    private ParsedTask parseDelimited(String value, String delimiter) {
-        String[] parts = value.split(delimiter);
+    /**
+     * Splits on either delimiter with the semantics of {@link String#split(String)}: trailing empty parts are dropped.
+     */
+    private static String[] split(String value, char delimiter, char alternative) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == alternative) {
+                parts.add(value.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(value.substring(start));
+        int size = parts.size();
+        while (size > 0 && parts.get(size - 1).isEmpty()) {
+            size--;
+        }
+        return parts.subList(0, size).toArray(new String[0]);
+    }
+
+    private ParsedTask parseDelimited(String[] parts) {
         String title = parts.length > 0 ? parts[0].trim() : "";
         String description = parts.length > 1 ? parts[1].trim() : "";
         LocalDate dueDate = parts.length > 2 ? parseDate(parts[2].trim()) : null;
@@ -92,209 +133,227 @@ public class TaskParserService {
         LocalDate d = parseDate(secondPart);
         Priority p = parsePriority(secondPart, null);
         TaskStatus s = parseStatus(secondPart, null);
-        
+
         LocalDate dueDate = d;
         Priority priority = (p != null) ? p : Priority.MEDIUM;
         TaskStatus status = (s != null) ? s : TaskStatus.OPEN;
         String desc = (d != null || p != null || s != null) ? "" : description;
-        
-        return new ParsedTask(title, desc, dueDate, priority, status, List.of());
-    }
 
-    private int findStatusIndex(String[] tokens) {
-        String lastToken = tokens[tokens.length - 1];
-        TaskStatus statusFound = parseStatus(lastToken, null);
-        return (statusFound != null) ? tokens.length - 1 : -1;
+        return new ParsedTask(title, desc, dueDate, priority, status, List.of());
     }
 
-    private int findPriorityIndex(String[] tokens, int excludeIdx1, int excludeIdx2, int excludeEnd2) {
-        for (int i = tokens.length - 1; i >= 0; i--) {
-            if (shouldSkipToken(i, excludeIdx1, excludeIdx2, excludeEnd2)) {
-                continue;
-            }
-            if (parsePriority(tokens[i], null) != null) {
-                return i;
+    /**
+     * Whitespace separated tokens of the input, with every vocabulary phrase in them found in one scan.
+     */
+    private final class Tokens {
+        private final String[] text;
+        private final String[] lower;
+        private final List<List<Match>> endingAt;
+
+        private Tokens(String value) {
+            List<String> parts = new ArrayList<>();
+            int start = -1;
+            for (int i = 0; i < value.length(); i++) {
+                if (isWhitespace(value.charAt(i))) {
+                    if (start >= 0) {
+                        parts.add(value.substring(start, i));
+                        start = -1;
+                    }
+                } else if (start < 0) {
+                    start = i;
+                }
             }
-        }
-        return -1;
-    }
-
-    private boolean shouldSkipToken(int i, int excludeIdx1, int excludeIdx2, int excludeEnd2) {
-        if (i == excludeIdx1) {
-            return true;
-        }
-        return excludeIdx2 != -1 && i >= excludeIdx2 && i <= excludeEnd2;
-    }
-
-    private int[] findDateIndices(String[] tokens, int statusIdx, int priorityIdx) {
-        for (int i = tokens.length - 1; i >= 0; i--) {
-            if (i == statusIdx || i == priorityIdx) {
-                continue;
+            if (start >= 0 || parts.isEmpty()) {
+                parts.add(value.substring(Math.max(start, 0)));
             }
-            
-            int[] relativeIndices = checkRelativeDateIndices(tokens, i, statusIdx, priorityIdx);
-            if (relativeIndices.length > 0) {
-                return relativeIndices;
+            text = parts.toArray(new String[0]);
+            lower = new String[text.length];
+            for (int i = 0; i < text.length; i++) {
+                lower[i] = text[i].toLowerCase(Locale.ROOT);
             }
+            endingAt = vocabulary.scan(lower);
+        }
 
-            if (isSingleTokenDate(tokens[i])) {
-                return new int[]{i, i};
-            }
+        private int length() {
+            return text.length;
         }
-        return new int[]{-1, -1};
     }
 
-    private boolean isSingleTokenDate(String token) {
-        return parseRelativeDate(token) != null || parseDate(token) != null;
+    /** Same character set as the regex class {@code \s}. */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
-    private int[] checkRelativeDateIndices(String[] tokens, int i, int statusIdx, int priorityIdx) {
-        // Check for "in X days" (three tokens)
-        int[] result = checkThreeTokenRelativeDate(tokens, i, statusIdx, priorityIdx);
-        if (result.length > 0) {
-            return result;
+    private static Match findStatus(Tokens tokens) {
+        for (Match match : tokens.endingAt.get(tokens.length() - 1)) {
+            if (match.kind() == Kind.STATUS) {
+                return match;
+            }
         }
-
-        // Check for "X days" (two tokens)
-        return checkTwoTokenRelativeDate(tokens, i, statusIdx, priorityIdx);
+        return null;
     }
 
-    private int[] checkThreeTokenRelativeDate(String[] tokens, int i, int statusIdx, int priorityIdx) {
-        if (i > 1 && isNotExcluded(i, statusIdx, priorityIdx) && isNotExcluded(i - 1, statusIdx, priorityIdx) && isNotExcluded(i - 2, statusIdx, priorityIdx)
-                && parseRelativeDate(tokens[i - 2] + " " + tokens[i - 1] + " " + tokens[i]) != null) {
-            return new int[]{i - 2, i};
+    /**
+     * Finds the last phrase of the given kind that overlaps none of the excluded phrases, preferring the longest one
+     * ending at a position.
+     */
+    private static Match findLast(Tokens tokens, Kind kind, Match exclude1, Match exclude2) {
+        for (int i = tokens.length() - 1; i >= 0; i--) {
+            for (Match match : tokens.endingAt.get(i)) {
+                if (match.kind() == kind && !match.overlaps(exclude1) && !match.overlaps(exclude2)) {
+                    return match;
+                }
+            }
         }
-        return new int[0];
+        return null;
     }
 
-    private int[] checkTwoTokenRelativeDate(String[] tokens, int i, int statusIdx, int priorityIdx) {
-        if (i > 0 && isNotExcluded(i, statusIdx, priorityIdx) && isNotExcluded(i - 1, statusIdx, priorityIdx)
-                && parseRelativeDate(tokens[i - 1] + " " + tokens[i]) != null) {
-            return new int[]{i - 1, i};
+    /**
+     * Finds the last date in the tokens, preferring the longest relative date ("in 3 days", "next week") ending at a
+     * position over a single token date.
+     */
+    private Match findDate(Tokens tokens, Match status, Match priority, LocalDate[] dueDate) {
+        for (int i = tokens.length() - 1; i >= 0; i--) {
+            Match token = new Match(i, i, Kind.DAYS, null);
+            if (token.overlaps(status) || token.overlaps(priority)) {
+                continue;
+            }
+            for (Match match : tokens.endingAt.get(i)) {
+                if (match.kind() == Kind.DAYS && !match.overlaps(status) && !match.overlaps(priority)) {
+                    dueDate[0] = LocalDate.now().plusDays((Integer) match.value());
+                    return match;
+                }
+            }
+            LocalDate date = parseNumericDate(tokens.text[i]);
+            if (date != null) {
+                dueDate[0] = date;
+                return token;
+            }
         }
-        return new int[0];
-    }
-
-    private boolean isNotExcluded(int i, int statusIdx, int priorityIdx) {
-        return i != statusIdx && i != priorityIdx;
+        return null;
     }
 
     private ParsedTask parseSpaceHeuristic(String value) {
-        String[] tokens = value.split("\\s+");
-        
-        int statusIdx = findStatusIndex(tokens);
-        TaskStatus status = (statusIdx != -1) ? parseStatus(tokens[statusIdx], TaskStatus.OPEN) : TaskStatus.OPEN;
-
-        int priorityIdx = findPriorityIndex(tokens, statusIdx, -1, -1);
-        
-        int[] dateIndices = findDateIndices(tokens, statusIdx, priorityIdx);
-        int dateIdx = dateIndices[0];
-        int dateEndIdx = dateIndices[1];
-        LocalDate dueDate = null;
-        if (dateIdx != -1) {
-            dueDate = resolveDueDate(tokens, dateIdx, dateEndIdx);
-        }
+        Tokens tokens = new Tokens(value);
 
-        if (priorityIdx == -1) {
-            priorityIdx = findPriorityIndex(tokens, statusIdx, dateIdx, dateEndIdx);
-        }
-        Priority priority = (priorityIdx != -1) ? parsePriority(tokens[priorityIdx], Priority.MEDIUM) : Priority.MEDIUM;
+        Match status = findStatus(tokens);
+        Match priority = findLast(tokens, Kind.PRIORITY, status, null);
 
-        String title = buildTitle(value, tokens, statusIdx, priorityIdx, dateIdx, dateEndIdx);
-        return new ParsedTask(title, "", dueDate, priority, status, List.of());
-    }
+        LocalDate[] dueDate = new LocalDate[1];
+        Match date = findDate(tokens, status, priority, dueDate);
 
-    private LocalDate resolveDueDate(String[] tokens, int dateIdx, int dateEndIdx) {
-        String dateStr;
-        if (dateIdx == dateEndIdx) {
-            dateStr = tokens[dateIdx];
-            LocalDate rd = parseRelativeDate(dateStr);
-            return (rd != null) ? rd : parseDate(dateStr);
-        } else if (dateEndIdx - dateIdx == 1) {
-            dateStr = tokens[dateIdx] + " " + tokens[dateIdx + 1];
-        } else {
-            dateStr = tokens[dateIdx] + " " + tokens[dateIdx + 1] + " " + tokens[dateIdx + 2];
+        if (priority == null) {
+            priority = findLast(tokens, Kind.PRIORITY, status, date);
         }
-        return parseRelativeDate(dateStr);
+
+        String title = buildTitle(value, tokens, status, priority, date);
+        return new ParsedTask(title, "", dueDate[0],
+                priority != null ? (Priority) priority.value() : Priority.MEDIUM,
+                status != null ? (TaskStatus) status.value() : TaskStatus.OPEN,
+                List.of());
     }
 
-    private String buildTitle(String originalValue, String[] tokens, int statusIdx, int priorityIdx, int dateIdx, int dateEndIdx) {
-        if (statusIdx == -1 && priorityIdx == -1 && dateIdx == -1) {
+    private String buildTitle(String originalValue, Tokens tokens, Match status, Match priority, Match date) {
+        if (status == null && priority == null && date == null) {
             return originalValue;
         }
-        List<String> titleTokens = new java.util.ArrayList<>();
-        for (int i = 0; i < tokens.length; i++) {
-            boolean isDateToken = dateIdx != -1 && i >= dateIdx && i <= dateEndIdx;
-            if (i != statusIdx && i != priorityIdx && !isDateToken) {
-                titleTokens.add(tokens[i]);
+        StringBuilder title = new StringBuilder(originalValue.length());
+        for (int i = 0; i < tokens.length(); i++) {
+            Match token = new Match(i, i, null, null);
+            if (!token.overlaps(status) && !token.overlaps(priority) && !token.overlaps(date)) {
+                if (!title.isEmpty()) {
+                    title.append(' ');
+                }
+                title.append(tokens.text[i]);
             }
         }
-        return String.join(" ", titleTokens).trim();
+        return title.toString().trim();
     }
 
+    /**
+     * Parses {@code d.M.yyyy}, {@code d.M.}, {@code yyyy-MM-dd}, {@code MM-dd} or a relative date. Impossible
+     * calendar dates yield {@code null}.
+     */
     private LocalDate parseDate(String input) {
-        if (input.matches("^\\d{1,2}\\.\\d{1,2}\\.\\d{4}$")) {
-            return parseSwissDate(input);
-        }
-        if (input.matches("^\\d{1,2}\\.\\d{1,2}\\.?$")) {
-            return parseSwissShortDate(input);
-        }
-        if (input.matches("^\\d{4}-\\d{2}-\\d{2}$")) {
-            return parseIsoDate(input);
-        }
-        if (input.matches("^\\d{2}-\\d{2}$")) {
-            return parseIsoShortDate(input);
-        }
-        return parseRelativeDate(input);
+        LocalDate date = parseNumericDate(input);
+        return date != null ? date : parseRelativeDate(input);
     }
 
-    private LocalDate parseSwissDate(String input) {
-        try {
-            String[] parts = input.split("\\.");
-            int day = Integer.parseInt(parts[0]);
-            int month = Integer.parseInt(parts[1]);
-            int year = Integer.parseInt(parts[2]);
-            return LocalDate.of(year, month, day);
-        } catch (Exception e) {
-            return null;
+    private LocalDate parseNumericDate(String input) {
+        int length = input.length();
+        int firstDot = input.indexOf('.');
+        if (firstDot > 0) {
+            int secondDot = input.indexOf('.', firstDot + 1);
+            if (secondDot > firstDot + 1) {
+                int day = digits(input, 0, firstDot, 1, 2);
+                int month = digits(input, firstDot + 1, secondDot, 1, 2);
+                if (day >= 0 && month >= 0) {
+                    if (secondDot == length - 1) {
+                        return dateInCurrentYear(day, month);
+                    }
+                    int year = digits(input, secondDot + 1, length, 4, 4);
+                    if (year >= 0) {
+                        return date(year, month, day);
+                    }
+                }
+            } else if (secondDot < 0) {
+                int day = digits(input, 0, firstDot, 1, 2);
+                int month = digits(input, firstDot + 1, length, 1, 2);
+                if (day >= 0 && month >= 0) {
+                    return dateInCurrentYear(day, month);
+                }
+            }
         }
-    }
-
-    private LocalDate parseSwissShortDate(String input) {
-        try {
-            String[] parts = input.split("\\.");
-            int day = Integer.parseInt(parts[0]);
-            int month = Integer.parseInt(parts[1]);
-            return adjustYear(day, month);
-        } catch (Exception e) {
-            return null;
+        if (length == 10 && input.charAt(4) == '-' && input.charAt(7) == '-') {
+            int year = digits(input, 0, 4, 4, 4);
+            int month = digits(input, 5, 7, 2, 2);
+            int day = digits(input, 8, 10, 2, 2);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return date(year, month, day);
+            }
+        }
+        if (length == 5 && input.charAt(2) == '-') {
+            int month = digits(input, 0, 2, 2, 2);
+            int day = digits(input, 3, 5, 2, 2);
+            if (month >= 0 && day >= 0) {
+                return dateInCurrentYear(day, month);
+            }
         }
+        return null;
     }
 
-    private LocalDate parseIsoDate(String input) {
-        try {
-            return LocalDate.parse(input);
-        } catch (Exception e) {
-            return null;
+    /**
+     * Value of the ASCII digits in {@code [from, to)}, or -1 unless there are between {@code min} and {@code max} of them.
+     */
+    private static int digits(String input, int from, int to, int min, int max) {
+        int count = to - from;
+        if (count < min || count > max) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
         }
+        return value;
     }
 
-    @SuppressWarnings("PMD.PreserveStackTrace")
-    private LocalDate parseIsoShortDate(String input) {
-        try {
-            String[] parts = input.split("-");
-            int month = Integer.parseInt(parts[0]);
-            int day = Integer.parseInt(parts[1]);
-            return adjustYear(day, month);
-        } catch (Exception e) {
+    private static LocalDate date(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1 || !YearMonth.of(year, month).isValidDay(day)) {
             return null;
         }
+        return LocalDate.of(year, month, day);
     }
 
-    private LocalDate adjustYear(int day, int month) {
+    private LocalDate dateInCurrentYear(int day, int month) {
         LocalDate today = LocalDate.now();
-        int year = today.getYear();
-        LocalDate targetDate = LocalDate.of(year, month, day);
+        LocalDate targetDate = date(today.getYear(), month, day);
+        if (targetDate == null) {
+            return null;
+        }
 
         // If date is more than 6 months in the past, assume next year
         if (targetDate.isBefore(today.minusMonths(6))) {
@@ -304,110 +363,24 @@ public class TaskParserService {
     }
 
     private LocalDate parseRelativeDate(String input) {
-        String text = input.toLowerCase().trim();
-        LocalDate today = LocalDate.now();
-
-        switch (text) {
-            case "today", "heute", "heut" -> {
-                return today;
-            }
-            case "tomorrow", "morgen" -> {
-                return today.plusDays(1);
-            }
-            case "übermorgen" -> {
-                return today.plusDays(2);
-            }
-            case "yesterday", "gestern" -> {
-                return today.minusDays(1);
-            }
-            case "week", "woche", "nächste woche", "next week" -> {
-                return today.plusWeeks(1);
-            }
-            default -> {
-                return parseXDays(text, today);
-            }
-        }
-    }
-
-    private LocalDate parseXDays(String text, LocalDate today) {
-        String[] parts = text.split("\\s+");
-        if (parts.length < 2 || parts.length > 3) {
-            return null;
-        }
-
-        String daysStr = extractDaysString(parts);
-        String unit = extractUnitString(parts);
-
-        if (daysStr != null && isDayUnit(unit)) {
-            try {
-                int days = Integer.parseInt(daysStr);
-                return today.plusDays(days);
-            } catch (NumberFormatException e) {
-                return null;
-            }
-        }
-        return null;
-    }
-
-    private String extractDaysString(String[] parts) {
-        if (parts.length == 2) {
-            return parts[0];
-        } else if (parts[0].equals("in")) {
-            return parts[1];
-        }
-        return null;
-    }
-
-    private String extractUnitString(String[] parts) {
-        if (parts.length == 2) {
-            return parts[1];
-        } else if (parts[0].equals("in")) {
-            return parts[2];
-        }
-        return null;
-    }
-
-    private boolean isDayUnit(String unit) {
-        return unit != null && (unit.startsWith("day") || unit.startsWith("tag"));
+        Integer days = (Integer) lookup(input, Kind.DAYS);
+        return days != null ? LocalDate.now().plusDays(days) : null;
     }
 
     private Priority parsePriority(String input, Priority defaultVal) {
-        String s = input.toUpperCase();
-        switch (s) {
-            case "HOCH", "DRINGEND", "WICHTIG", "HIGH":
-                return Priority.HIGH;
-            case "TIEF", "UNWICHTIG", "NIEDRIG", "LOW":
-                return Priority.LOW;
-            case "MITTEL", "MEDIUM":
-                return Priority.MEDIUM;
-            case "KRITISCH", "CRITICAL":
-                return Priority.CRITICAL;
-            default:
-                try {
-                    return Priority.valueOf(s);
-                } catch (Exception e) {
-                    return defaultVal;
-                }
-        }
+        Priority priority = (Priority) lookup(input, Kind.PRIORITY);
+        return priority != null ? priority : defaultVal;
     }
 
     private TaskStatus parseStatus(String input, TaskStatus defaultVal) {
-        String s = input.toUpperCase().replace(" ", "_");
-        switch (s) {
-            case "PROGRESS", "HÄNGIG", "PENDENT", "IN_PROGRESS":
-                return TaskStatus.IN_PROGRESS;
-            case "OFFEN", "OPEN":
-                return TaskStatus.OPEN;
-            case "ERLEDIGT", "FERTIG", "DONE":
-                return TaskStatus.DONE;
-            case "ARCHIV", "ARCHIVIERT", "ARCHIVED":
-                return TaskStatus.ARCHIVED;
-            default:
-                try {
-                    return TaskStatus.valueOf(s);
-                } catch (Exception e) {
-                    return defaultVal;
-                }
-        }
+        TaskStatus status = (TaskStatus) lookup(input, Kind.STATUS);
+        return status != null ? status : defaultVal;
+    }
+
+    /**
+     * Meaning of the whole input as a single vocabulary phrase.
+     */
+    private Object lookup(String input, Kind kind) {
+        return vocabulary.lookup(new Tokens(input).lower, kind);
     }
 }
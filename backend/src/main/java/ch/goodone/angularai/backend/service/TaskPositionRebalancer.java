@@ -0,0 +1,62 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.Task;
+import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.TaskRepository;
+import ch.goodone.angularai.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TaskPositionRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPositionRebalancer.class);
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> pendingUserIds = ConcurrentHashMap.newKeySet();
+
+    public TaskPositionRebalancer(TaskRepository taskRepository, UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void requestRebalance(User user) {
+        pendingUserIds.add(user.getId());
+    }
+
+    /**
+     * Respaces all positions of the user; callers must hold the user row lock.
+     */
+    public int rebalance(User user) {
+        List<Task> tasks = new ArrayList<>(taskRepository.findByUserOrderByPositionAsc(user));
+        tasks.sort(TaskOrdering.BY_POSITION);
+        List<Task> changed = TaskOrdering.respace(tasks);
+        taskRepository.saveAll(changed);
+        return changed.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.rebalance-interval-ms:60000}")
+    public void rebalancePending() {
+        for (Long userId : List.copyOf(pendingUserIds)) {
+            pendingUserIds.remove(userId);
+            try {
+                transactionTemplate.executeWithoutResult(status -> userRepository.findByIdForUpdate(userId)
+                        .ifPresent(user -> logger.debug("Rebalanced {} task positions of user {}", rebalance(user), userId)));
+            } catch (RuntimeException e) {
+                logger.warn("Task position rebalance failed for user {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+}
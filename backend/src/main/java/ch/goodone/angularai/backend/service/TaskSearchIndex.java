@@ -0,0 +1,231 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.Task;
+import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.TaskRepository;
+import ch.goodone.angularai.backend.repository.TaskText;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Per-user inverted index over task title, description and tags. A user's index is built from the database on
+ * their first search and then kept current by the task writes of this instance once they commit. Indexes of
+ * users that have not searched for a while are dropped, and an index is rebuilt after a maximum age to pick up
+ * changes made through other instances.
+ */
+@Service
+public class TaskSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int TAG_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public record SearchHits(List<Long> taskIds, int total) {
+    }
+
+    private record Document(Long id, String title, String description, List<String> tags) {
+
+        static Document of(Task task) {
+            List<String> tags = task.getTags() != null ? List.copyOf(task.getTags()) : List.of();
+            return new Document(task.getId(), task.getTitle(), task.getDescription(), tags);
+        }
+
+        Map<String, Integer> weights() {
+            Map<String, Integer> weights = new HashMap<>();
+            tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+            tags.forEach(tag -> tokenize(tag).forEach(term -> weights.merge(term, TAG_WEIGHT, Integer::sum)));
+            tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+            return weights;
+        }
+    }
+
+    private static final class UserIndex {
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+        private long loadedAt = -1;
+
+        private void put(Document document) {
+            remove(document.id());
+            Map<String, Integer> weights = document.weights();
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(document.id(), weight));
+            documents.put(document.id(), weights);
+        }
+
+        private void remove(Long id) {
+            Map<String, Integer> previous = documents.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        /**
+         * Scores the documents containing every query term, each either exactly or as a prefix of an indexed term.
+         */
+        private Map<Long, Integer> score(List<String> terms) {
+            Map<Long, Integer> scores = null;
+            for (String term : terms) {
+                Map<Long, Integer> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Integer>> entry : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                    // Whole word matches rank above matches on a longer word that merely starts with the term
+                    int boost = entry.getKey().equals(term) ? 2 : 1;
+                    entry.getValue().forEach((id, weight) -> termScores.merge(id, weight * boost, Integer::sum));
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            return scores != null ? scores : Map.of();
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final int maxUsers;
+    private final long maxAgeMillis;
+    private final Map<Long, UserIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           @Value("${app.tasks.search.max-users:1000}") int maxUsers,
+                           @Value("${app.tasks.search.max-age-ms:600000}") long maxAgeMillis) {
+        this.taskRepository = taskRepository;
+        this.maxUsers = maxUsers;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Returns one page of the user's tasks matching all words of {@code query}, best match first.
+     */
+    public SearchHits search(User user, String query, int offset, int limit) {
+        List<String> terms = tokenize(query).distinct().toList();
+        if (terms.isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+        UserIndex index = indexFor(user);
+        List<Map.Entry<Long, Integer>> ranked;
+        synchronized (index) {
+            ranked = new ArrayList<>(index.score(terms).entrySet());
+        }
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+        List<Long> page = ranked.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new SearchHits(page, ranked.size());
+    }
+
+    public void taskSaved(Task task) {
+        Long userId = task.getUser().getId();
+        Document document = Document.of(task);
+        afterCommit(userId, index -> index.put(document));
+    }
+
+    public void taskDeleted(Task task) {
+        Long userId = task.getUser().getId();
+        Long id = task.getId();
+        afterCommit(userId, index -> index.remove(id));
+    }
+
+    /**
+     * Marks the user's index stale once the transaction commits, for writes that bypass the per-task hooks.
+     */
+    public void tasksChanged(User user) {
+        afterCommit(user.getId(), index -> index.loadedAt = -1);
+    }
+
+    public synchronized int getIndexedUserCount() {
+        return indexes.size();
+    }
+
+    private UserIndex indexFor(User user) {
+        UserIndex index;
+        synchronized (this) {
+            index = indexes.computeIfAbsent(user.getId(), id -> new UserIndex());
+            var eldest = indexes.entrySet().iterator();
+            while (indexes.size() > maxUsers && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        // Writes that commit while the index is being read wait for it and are applied afterwards
+        synchronized (index) {
+            long now = System.currentTimeMillis();
+            if (index.loadedAt < 0 || now - index.loadedAt > maxAgeMillis) {
+                load(index, user);
+                index.loadedAt = now;
+            }
+        }
+        return index;
+    }
+
+    private void load(UserIndex index, User user) {
+        index.postings.clear();
+        index.documents.clear();
+        Map<Long, List<String>> tags = taskRepository.findTagsByUser(user);
+        for (TaskText text : taskRepository.findTextsByUser(user)) {
+            index.put(new Document(text.id(), text.title(), text.description(), tags.getOrDefault(text.id(), List.of())));
+        }
+    }
+
+    private void afterCommit(Long userId, Consumer<UserIndex> change) {
+        Runnable apply = () -> {
+            UserIndex index;
+            synchronized (this) {
+                index = indexes.get(userId);
+            }
+            // Users without an index pick the change up from the database when their index is built
+            if (index != null) {
+                synchronized (index) {
+                    change.accept(index);
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    static Stream<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        return SEPARATORS.splitAsStream(text.toLowerCase(Locale.ROOT)).filter(term -> !term.isEmpty());
+    }
+}
@@ -1,19 +1,31 @@
 package ch.goodone.angularai.backend.service;
 
 import ch.goodone.angularai.backend.dto.TaskDTO;
+import ch.goodone.angularai.backend.dto.TaskMetricsDTO;
+import ch.goodone.angularai.backend.dto.TaskPageDTO;
+import ch.goodone.angularai.backend.dto.TaskSearchResultDTO;
 import ch.goodone.angularai.backend.model.Priority;
 import ch.goodone.angularai.backend.model.Task;
 import ch.goodone.angularai.backend.model.TaskStatus;
 import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.TaskKeyset;
+import ch.goodone.angularai.backend.repository.TaskMetricsCount;
 import ch.goodone.angularai.backend.repository.TaskRepository;
+import ch.goodone.angularai.backend.repository.UserRepository;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
@@ -23,16 +35,71 @@ public class TaskService {
     private static final String PRIORITY = "priority";
     private static final String POSITION = "position";
     private static final String TASKS_LOG_SUFFIX = " tasks";
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Set<String> SMART_FILTERS = Set.of("TODAY", "UPCOMING", "OVERDUE", "HIGH");
 
     private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
     private final ActionLogService actionLogService;
+    private final TaskPositionRebalancer positionRebalancer;
+    private final DashboardCounters dashboardCounters;
+    private final TaskSearchIndex searchIndex;
 
-    public TaskService(TaskRepository taskRepository, ActionLogService actionLogService) {
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository, ActionLogService actionLogService,
+                       TaskPositionRebalancer positionRebalancer, DashboardCounters dashboardCounters, TaskSearchIndex searchIndex) {
         this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
         this.actionLogService = actionLogService;
+        this.positionRebalancer = positionRebalancer;
+        this.dashboardCounters = dashboardCounters;
+        this.searchIndex = searchIndex;
     }
 
     public List<TaskDTO> getTasks(User user, String status, String smartFilter, String sort) {
+        Specification<Task> spec = buildSpecification(user, status, smartFilter);
+
+        Sort sortObj = Sort.by(Sort.Direction.ASC, POSITION);
+        if (sort != null) {
+            switch (sort) {
+                case "DUE_ASC":
+                    sortObj = Sort.by(Sort.Direction.ASC, DUE_DATE).and(Sort.by(Sort.Direction.ASC, POSITION));
+                    break;
+                case "PRIO_DESC":
+                    sortObj = Sort.by(Sort.Direction.DESC, PRIORITY).and(Sort.by(Sort.Direction.ASC, POSITION));
+                    break;
+                case "UPDATED_DESC":
+                    sortObj = Sort.by(Sort.Direction.DESC, "updatedAt");
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        List<Task> tasks = taskRepository.findAll(spec, sortObj);
+        if (status == null && !isSmartFilter(smartFilter)) {
+            // The whole list needs all tags of the user, which one query by owner reads without binding every task id
+            return TaskDTO.fromEntities(tasks, taskRepository.findTagsByUser(user));
+        }
+        return toDTOs(tasks);
+    }
+
+    private static boolean isSmartFilter(String smartFilter) {
+        return smartFilter != null && SMART_FILTERS.contains(smartFilter.toUpperCase());
+    }
+
+    public TaskPageDTO getTaskPage(User user, String status, String smartFilter, String sort, String cursor, int limit) {
+        TaskKeyset keyset = TaskKeyset.decode(TaskKeyset.Column.fromSort(sort), cursor);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+        List<TaskDTO> rows = taskRepository.findByKeyset(buildSpecification(user, status, smartFilter), keyset, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new TaskPageDTO(rows, null);
+        }
+        List<TaskDTO> page = rows.subList(0, pageSize);
+        return new TaskPageDTO(page, TaskKeyset.after(keyset.column(), page.get(pageSize - 1)).encode());
+    }
+
+    private Specification<Task> buildSpecification(User user, String status, String smartFilter) {
         Specification<Task> spec = (root, query, cb) -> cb.equal(root.get("user"), user);
 
         if (status != null) {
@@ -79,37 +146,49 @@ public class TaskService {
                     break;
             }
         }
+        return spec;
+    }
 
-        Sort sortObj = Sort.by(Sort.Direction.ASC, POSITION);
-        if (sort != null) {
-            switch (sort) {
-                case "DUE_ASC":
-                    sortObj = Sort.by(Sort.Direction.ASC, DUE_DATE).and(Sort.by(Sort.Direction.ASC, POSITION));
-                    break;
-                case "PRIO_DESC":
-                    sortObj = Sort.by(Sort.Direction.DESC, PRIORITY).and(Sort.by(Sort.Direction.ASC, POSITION));
-                    break;
-                case "UPDATED_DESC":
-                    sortObj = Sort.by(Sort.Direction.DESC, "updatedAt");
-                    break;
-                default:
-                    break;
-            }
-        }
+    @Transactional
+    public TaskDTO createTask(User user, TaskDTO taskDTO) {
+        Task task = newTask(user, taskDTO);
+        task.setPosition(nextPosition(user, 1));
 
-        return taskRepository.findAll(spec, sortObj).stream()
-                .map(TaskDTO::fromEntity)
-                .toList();
+        Task savedTask = taskRepository.save(task);
+        dashboardCounters.taskCreated(savedTask);
+        searchIndex.taskSaved(savedTask);
+        actionLogService.log(user.getLogin(), "TASK_ADDED", "Task created: " + savedTask.getTitle());
+        return TaskDTO.fromEntity(savedTask);
     }
 
+    /**
+     * Creates the tasks in the given order after the user's last task, taking the owner lock and reading the last
+     * position once for the whole batch.
+     */
     @Transactional
-    public TaskDTO createTask(User user, TaskDTO taskDTO) {
-        List<Task> existingTasks = taskRepository.findByUserOrderByPositionAsc(user);
-        int maxPosition = existingTasks.stream()
-                .mapToInt(t -> t.getPosition() != null ? t.getPosition() : 0)
-                .max()
-                .orElse(-1);
+    public List<TaskDTO> createTasks(User user, List<TaskDTO> taskDTOs) {
+        if (taskDTOs.isEmpty()) {
+            return List.of();
+        }
+        int position = nextPosition(user, taskDTOs.size());
+        List<Task> tasks = new java.util.ArrayList<>(taskDTOs.size());
+        for (TaskDTO taskDTO : taskDTOs) {
+            Task task = newTask(user, taskDTO);
+            task.setPosition(position);
+            position += TaskOrdering.POSITION_GAP;
+            tasks.add(task);
+        }
 
+        List<Task> saved = taskRepository.saveAll(tasks);
+        for (Task task : saved) {
+            dashboardCounters.taskCreated(task);
+            searchIndex.taskSaved(task);
+        }
+        actionLogService.log(user.getLogin(), "TASK_BULK_ADDED", "Created " + saved.size() + TASKS_LOG_SUFFIX);
+        return toDTOs(saved);
+    }
+
+    private static Task newTask(User user, TaskDTO taskDTO) {
         Task task = new Task(
                 taskDTO.getTitle(),
                 taskDTO.getDescription(),
@@ -117,24 +196,41 @@ public class TaskService {
                 taskDTO.getPriority(),
                 user
         );
-        task.setPosition(maxPosition + 1);
         if (taskDTO.getStatus() != null) {
             task.setStatus(TaskStatus.valueOf(taskDTO.getStatus()));
         }
         if (taskDTO.getTags() != null) {
             task.setTags(new java.util.ArrayList<>(taskDTO.getTags()));
         }
+        return task;
+    }
 
-        Task savedTask = taskRepository.save(task);
-        actionLogService.log(user.getLogin(), "TASK_ADDED", "Task created: " + savedTask.getTitle());
-        return TaskDTO.fromEntity(savedTask);
+    private static boolean isOwnedBy(Task task, User user) {
+        // Compare ids, the caller may hold a lazy reference instead of the instance loaded along with the task
+        return task.getUser() == user || (user.getId() != null && user.getId().equals(task.getUser().getId()));
+    }
+
+    private int nextPosition(User user, int count) {
+        // Row lock on the owner serializes concurrent creates, so two of them cannot read the same max(position)
+        userRepository.findByIdForUpdate(user.getId());
+        Integer position = TaskOrdering.append(taskRepository.findMaxPositionByUser(user), count);
+        if (position == null) {
+            // Positions have crept up to the end of the int range, respace them instead of wrapping negative
+            positionRebalancer.rebalance(user);
+            position = TaskOrdering.append(taskRepository.findMaxPositionByUser(user), count);
+            if (position == null) {
+                throw new IllegalArgumentException("Too many tasks to assign positions");
+            }
+        }
+        return position;
     }
 
     @Transactional
     public Optional<TaskDTO> updateTask(User user, Long id, TaskDTO taskDTO) {
         return taskRepository.findById(id)
-                .filter(t -> t.getUser().equals(user))
+                .filter(t -> isOwnedBy(t, user))
                 .map(task -> {
+                    TaskStatus previousStatus = task.getStatus();
                     task.setTitle(taskDTO.getTitle());
                     task.setDescription(taskDTO.getDescription());
                     task.setDueDate(taskDTO.getDueDate());
@@ -146,6 +242,8 @@ public class TaskService {
                         task.setTags(new java.util.ArrayList<>(taskDTO.getTags()));
                     }
                     Task savedTask = taskRepository.save(task);
+                    dashboardCounters.taskStatusChanged(savedTask, previousStatus);
+                    searchIndex.taskSaved(savedTask);
                     actionLogService.log(user.getLogin(), "TASK_UPDATED", "Task updated: " + savedTask.getTitle());
                     return TaskDTO.fromEntity(savedTask);
                 });
@@ -154,8 +252,9 @@ public class TaskService {
     @Transactional
     public Optional<TaskDTO> patchTask(User user, Long id, TaskDTO taskDTO) {
         return taskRepository.findById(id)
-                .filter(t -> t.getUser().equals(user))
+                .filter(t -> isOwnedBy(t, user))
                 .map(task -> {
+                    TaskStatus previousStatus = task.getStatus();
                     if (taskDTO.getTitle() != null) {
                         task.setTitle(taskDTO.getTitle());
                     }
@@ -176,6 +275,8 @@ public class TaskService {
                     }
                     
                     Task savedTask = taskRepository.save(task);
+                    dashboardCounters.taskStatusChanged(savedTask, previousStatus);
+                    searchIndex.taskSaved(savedTask);
                     actionLogService.log(user.getLogin(), "TASK_PATCHED", "Task patched: " + savedTask.getTitle());
                     return TaskDTO.fromEntity(savedTask);
                 });
@@ -184,12 +285,14 @@ public class TaskService {
     @Transactional
     public List<TaskDTO> bulkPatchTasks(User user, List<Long> ids, TaskDTO patch) {
         List<Task> tasks = taskRepository.findAllById(ids).stream()
-                .filter(t -> t.getUser().equals(user))
+                .filter(t -> isOwnedBy(t, user))
                 .toList();
         
         for (Task task : tasks) {
             if (patch.getStatus() != null) {
+                TaskStatus previousStatus = task.getStatus();
                 task.setStatus(TaskStatus.valueOf(patch.getStatus()));
+                dashboardCounters.taskStatusChanged(task, previousStatus);
             }
             if (patch.getPriority() != null) {
                 task.setPriority(patch.getPriority());
@@ -198,30 +301,81 @@ public class TaskService {
         
         List<Task> saved = taskRepository.saveAll(tasks);
         actionLogService.log(user.getLogin(), "TASK_BULK_PATCH", "Updated " + saved.size() + TASKS_LOG_SUFFIX);
-        return saved.stream().map(TaskDTO::fromEntity).toList();
+        return toDTOs(saved);
     }
 
     @Transactional
     public void reorderTasks(User user, List<Long> taskIds) {
-        List<Task> userTasks = taskRepository.findByUserOrderByPositionAsc(user);
-        for (int i = 0; i < taskIds.size(); i++) {
-            Long id = taskIds.get(i);
-            int finalI = i;
-            userTasks.stream()
-                    .filter(t -> t.getId().equals(id))
-                    .findFirst()
-                    .ifPresent(t -> t.setPosition(finalI));
-        }
-        taskRepository.saveAll(userTasks);
+        userRepository.findByIdForUpdate(user.getId());
+        Map<Long, Task> userTasks = taskRepository.findByUserOrderByPositionAsc(user).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Task> ordered = taskIds.stream()
+                .distinct()
+                .map(userTasks::get)
+                .filter(Objects::nonNull)
+                .toList();
+        TaskOrdering.Placement placement = TaskOrdering.applyOrder(ordered);
+        taskRepository.saveAll(placement.changed());
+        if (placement.tight()) {
+            positionRebalancer.requestRebalance(user);
+        }
         actionLogService.log(user.getLogin(), "TASKS_REORDERED", "Reordered " + taskIds.size() + TASKS_LOG_SUFFIX);
     }
 
+    @Transactional
+    public Optional<TaskDTO> moveTask(User user, Long id, Long afterId) {
+        userRepository.findByIdForUpdate(user.getId());
+        Optional<Task> task = taskRepository.findById(id).filter(t -> isOwnedBy(t, user));
+        Optional<Task> after = afterId != null
+                ? taskRepository.findById(afterId).filter(t -> isOwnedBy(t, user))
+                : Optional.empty();
+        if (task.isEmpty() || (afterId != null && after.isEmpty())) {
+            return Optional.empty();
+        }
+        Task moved = task.get();
+        if (moved.getId().equals(afterId)) {
+            return Optional.of(TaskDTO.fromEntity(moved));
+        }
+        if (moved.getPosition() == null || (after.isPresent() && after.get().getPosition() == null)) {
+            positionRebalancer.rebalance(user);
+        }
+
+        Integer position = positionAfter(user, moved, after.orElse(null));
+        if (position == null) {
+            positionRebalancer.rebalance(user);
+            position = positionAfter(user, moved, after.orElse(null));
+        }
+        if (!position.equals(moved.getPosition())) {
+            moved.setPosition(position);
+            taskRepository.save(moved);
+            actionLogService.log(user.getLogin(), "TASK_MOVED", "Task moved: " + moved.getTitle());
+        }
+        return Optional.of(TaskDTO.fromEntity(moved));
+    }
+
+    private Integer positionAfter(User user, Task moved, Task after) {
+        Integer before = after != null ? after.getPosition() : null;
+        Optional<Task> next = after != null
+                ? taskRepository.findFirstByUserAndPositionGreaterThanOrderByPositionAscIdAsc(user, before)
+                : taskRepository.findFirstByUserAndPositionNotNullOrderByPositionAscIdAsc(user);
+        if (next.isPresent() && next.get().getId().equals(moved.getId())) {
+            return moved.getPosition();
+        }
+        Integer upper = next.map(Task::getPosition).orElse(null);
+        if (TaskOrdering.isTight(before, upper)) {
+            positionRebalancer.requestRebalance(user);
+        }
+        return TaskOrdering.between(before, upper);
+    }
+
     @Transactional
     public boolean deleteTask(User user, Long id) {
         return taskRepository.findById(id)
-                .filter(t -> t.getUser().equals(user))
+                .filter(t -> isOwnedBy(t, user))
                 .map(task -> {
                     taskRepository.delete(task);
+                    dashboardCounters.taskDeleted(task);
+                    searchIndex.taskDeleted(task);
                     actionLogService.log(user.getLogin(), "TASK_DELETED", "Task deleted: " + task.getTitle());
                     return true;
                 }).orElse(false);
@@ -230,9 +384,63 @@ public class TaskService {
     @Transactional
     public void bulkDeleteTasks(User user, List<Long> ids) {
         List<Task> tasks = taskRepository.findAllById(ids).stream()
-                .filter(t -> t.getUser().equals(user))
+                .filter(t -> isOwnedBy(t, user))
                 .toList();
         taskRepository.deleteAll(tasks);
+        tasks.forEach(dashboardCounters::taskDeleted);
+        tasks.forEach(searchIndex::taskDeleted);
         actionLogService.log(user.getLogin(), "TASK_BULK_DELETE", "Deleted " + tasks.size() + TASKS_LOG_SUFFIX);
     }
+
+    @Transactional(readOnly = true)
+    public TaskSearchResultDTO searchTasks(User user, String query, int offset, int limit) {
+        TaskSearchIndex.SearchHits hits = searchIndex.search(user, query, Math.max(offset, 0), Math.clamp(limit, 1, MAX_PAGE_SIZE));
+        Map<Long, Task> byId = taskRepository.findAllById(hits.taskIds()).stream()
+                .filter(t -> isOwnedBy(t, user))
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Task> tasks = hits.taskIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new TaskSearchResultDTO(toDTOs(tasks), hits.total());
+    }
+
+    /**
+     * Counts the user's tasks by status, priority and tag without loading them.
+     */
+    public TaskMetricsDTO getTaskMetrics(User user) {
+        long total = 0;
+        long completed = 0;
+        long overdue = 0;
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority.name(), 0L);
+        }
+        for (TaskMetricsCount count : taskRepository.countMetricsByUser(user, LocalDate.now())) {
+            total += count.total();
+            if (count.status() == TaskStatus.DONE) {
+                completed += count.total();
+            } else {
+                overdue += count.pastDue();
+            }
+            if (count.status() != null) {
+                byStatus.merge(count.status().name(), count.total(), Long::sum);
+            }
+            if (count.priority() != null) {
+                byPriority.merge(count.priority().name(), count.total(), Long::sum);
+            }
+        }
+        Map<String, Long> byTag = new LinkedHashMap<>();
+        taskRepository.countTagsByUser(user).forEach(count -> byTag.put(count.tag(), count.total()));
+        return new TaskMetricsDTO(total, completed, overdue, byStatus, byPriority, byTag);
+    }
+
+    private List<TaskDTO> toDTOs(List<Task> tasks) {
+        // One tag query for the whole list instead of initializing each lazy collection
+        return TaskDTO.fromEntities(tasks, taskRepository.findTagsByTaskIds(tasks.stream().map(Task::getId).toList()));
+    }
 }
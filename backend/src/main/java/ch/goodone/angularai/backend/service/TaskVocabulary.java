@@ -0,0 +1,287 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.Priority;
+import ch.goodone.angularai.backend.model.TaskStatus;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Words and phrases the task parser recognises as priority, status or relative due date, merged from one resource file
+ * per locale ({@value #RESOURCE_PATTERN}) and compiled into a trie over lower case words. Each step of a lookup is a
+ * hash lookup on the next word, so its cost does not grow with the size of the vocabulary.
+ * <p>
+ * Entries have the form {@code priority.HIGH=high, very important}, {@code status.DONE=done} or
+ * {@code days.1=tomorrow}. In {@code days.n} phrases, {@code <n>} stands for the number of days, e.g.
+ * {@code days.n=in <n> day*}. A trailing {@code *} matches any word starting with the given text.
+ */
+public final class TaskVocabulary {
+
+    static final String RESOURCE_PATTERN = "classpath*:parser/vocabulary_*.properties";
+
+    private static final String NUMBER = "<n>";
+
+    public enum Kind {
+        PRIORITY, STATUS, DAYS
+    }
+
+    /**
+     * Phrase covering the tokens {@code start} to {@code end}, both inclusive. The value is a {@link Priority}, a
+     * {@link TaskStatus} or the number of days from today as {@link Integer}.
+     */
+    public record Match(int start, int end, Kind kind, Object value) {
+
+        public int length() {
+            return end - start + 1;
+        }
+
+        public boolean overlaps(Match other) {
+            return other != null && start <= other.end && other.start <= end;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> words = new HashMap<>();
+        private final List<Map.Entry<String, Node>> prefixes = new ArrayList<>();
+        private Node number;
+        // Days of a DAYS phrase are null when they come from the number slot
+        private final Map<Kind, Object> meanings = new EnumMap<>(Kind.class);
+        private final Map<Kind, Boolean> fromNumber = new EnumMap<>(Kind.class);
+
+        private Node child(String word) {
+            if (NUMBER.equals(word)) {
+                if (number == null) {
+                    number = new Node();
+                }
+                return number;
+            }
+            if (word.length() > 1 && word.endsWith("*")) {
+                String prefix = word.substring(0, word.length() - 1);
+                for (Map.Entry<String, Node> edge : prefixes) {
+                    if (edge.getKey().equals(prefix)) {
+                        return edge.getValue();
+                    }
+                }
+                Node next = new Node();
+                prefixes.add(Map.entry(prefix, next));
+                return next;
+            }
+            return words.computeIfAbsent(word, k -> new Node());
+        }
+    }
+
+    private final Node root = new Node();
+    private int size;
+
+    private TaskVocabulary() {
+    }
+
+    /**
+     * Loads and merges the vocabulary files of all locales on the classpath.
+     */
+    public static TaskVocabulary load() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(RESOURCE_PATTERN);
+            if (resources.length == 0) {
+                throw new IllegalStateException("No task parser vocabulary found at " + RESOURCE_PATTERN);
+            }
+            Arrays.sort(resources, Comparator.comparing(resource -> Objects.requireNonNullElse(resource.getFilename(), "")));
+            List<Properties> vocabularies = new ArrayList<>();
+            for (Resource resource : resources) {
+                Properties properties = new Properties();
+                try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                vocabularies.add(properties);
+            }
+            return compile(vocabularies);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read task parser vocabulary", e);
+        }
+    }
+
+    public static TaskVocabulary compile(List<Properties> vocabularies) {
+        TaskVocabulary vocabulary = new TaskVocabulary();
+        for (Properties properties : vocabularies) {
+            for (String key : properties.stringPropertyNames()) {
+                for (String phrase : properties.getProperty(key).split(",")) {
+                    if (!phrase.isBlank()) {
+                        vocabulary.add(key.trim(), phrase);
+                    }
+                }
+            }
+        }
+        return vocabulary;
+    }
+
+    private void add(String key, String phrase) {
+        int dot = key.indexOf('.');
+        if (dot <= 0) {
+            throw new IllegalArgumentException("Invalid vocabulary key '" + key + "', expected <kind>.<value>");
+        }
+        String name = key.substring(dot + 1);
+        String[] words = phrase.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        boolean hasNumber = Arrays.asList(words).contains(NUMBER);
+        Kind kind;
+        Object value;
+        switch (key.substring(0, dot)) {
+            case "priority" -> {
+                kind = Kind.PRIORITY;
+                value = Priority.valueOf(name);
+            }
+            case "status" -> {
+                kind = Kind.STATUS;
+                value = TaskStatus.valueOf(name);
+            }
+            case "days" -> {
+                kind = Kind.DAYS;
+                value = "n".equals(name) ? null : Integer.valueOf(name);
+            }
+            default -> throw new IllegalArgumentException("Unknown vocabulary kind in '" + key + "'");
+        }
+        if (hasNumber != (kind == Kind.DAYS && value == null)) {
+            throw new IllegalArgumentException("Phrase '" + phrase.trim() + "' of '" + key + "' must contain " + NUMBER
+                    + " exactly when the key is days.n");
+        }
+
+        Node node = root;
+        for (String word : words) {
+            node = node.child(word);
+        }
+        if (node.meanings.containsKey(kind) && !Objects.equals(node.meanings.get(kind), value)) {
+            throw new IllegalArgumentException("Phrase '" + phrase.trim() + "' has conflicting meanings "
+                    + node.meanings.get(kind) + " and " + value);
+        }
+        if (!node.meanings.containsKey(kind)) {
+            size++;
+        }
+        node.meanings.put(kind, value);
+        node.fromNumber.put(kind, hasNumber);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds every phrase in the lower case tokens in a single left to right pass, grouped by the index of their last
+     * token with the longest phrase first.
+     */
+    public List<List<Match>> scan(String[] tokens) {
+        List<List<Match>> endingAt = new ArrayList<>(tokens.length);
+        for (int i = 0; i < tokens.length; i++) {
+            endingAt.add(new ArrayList<>(0));
+        }
+        for (int start = 0; start < tokens.length; start++) {
+            walk(root, tokens, start, start, null, endingAt);
+        }
+        return endingAt;
+    }
+
+    /**
+     * Meaning of the given kind when the lower case tokens form exactly one phrase, otherwise {@code null}.
+     */
+    public Object lookup(String[] tokens, Kind kind) {
+        if (tokens.length == 0) {
+            return null;
+        }
+        for (Match match : scanFrom(tokens)) {
+            if (match.kind() == kind && match.end() == tokens.length - 1) {
+                return match.value();
+            }
+        }
+        return null;
+    }
+
+    private List<Match> scanFrom(String[] tokens) {
+        List<List<Match>> endingAt = new ArrayList<>(tokens.length);
+        for (int i = 0; i < tokens.length; i++) {
+            endingAt.add(new ArrayList<>(0));
+        }
+        walk(root, tokens, 0, 0, null, endingAt);
+        return endingAt.get(tokens.length - 1);
+    }
+
+    private void walk(Node node, String[] tokens, int start, int index, Integer number, List<List<Match>> endingAt) {
+        if (index >= tokens.length) {
+            return;
+        }
+        String token = tokens[index];
+        Node exact = node.words.get(token);
+        if (exact != null) {
+            visit(exact, tokens, start, index, number, endingAt);
+        }
+        for (Map.Entry<String, Node> edge : node.prefixes) {
+            if (token.startsWith(edge.getKey())) {
+                visit(edge.getValue(), tokens, start, index, number, endingAt);
+            }
+        }
+        if (node.number != null) {
+            Integer value = parseInteger(token);
+            if (value != null) {
+                visit(node.number, tokens, start, index, value, endingAt);
+            }
+        }
+    }
+
+    private void visit(Node node, String[] tokens, int start, int index, Integer number, List<List<Match>> endingAt) {
+        for (Map.Entry<Kind, Object> meaning : node.meanings.entrySet()) {
+            Object value = Boolean.TRUE.equals(node.fromNumber.get(meaning.getKey())) ? number : meaning.getValue();
+            List<Match> matches = endingAt.get(index);
+            Match match = new Match(start, index, meaning.getKey(), value);
+            // Starts are visited in ascending order, so appending keeps the longest phrase first
+            if (!matches.contains(match)) {
+                matches.add(match);
+            }
+        }
+        walk(node, tokens, start, index + 1, number, endingAt);
+    }
+
+    /**
+     * Accepts exactly what {@link Integer#parseInt(String)} accepts, without throwing for anything else.
+     */
+    static Integer parseInteger(String text) {
+        int length = text.length();
+        if (length == 0) {
+            return null;
+        }
+        int i = 0;
+        boolean negative = false;
+        char first = text.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i = 1;
+            if (length == 1) {
+                return null;
+            }
+        }
+        long value = 0;
+        for (; i < length; i++) {
+            int digit = Character.digit(text.charAt(i), 10);
+            if (digit < 0) {
+                return null;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return null;
+            }
+        }
+        value = negative ? -value : value;
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (int) value : null;
+    }
+}
@@ -0,0 +1,50 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.dto.UserAuthState;
+import ch.goodone.angularai.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived cache of the status and role of users authenticated by token claims. Disabling or deleting a user
+ * takes effect on other instances once their entry expires; this instance can be told right away.
+ */
+@Service
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<String, Optional<UserAuthState>> cache;
+    private final Duration ttl;
+    private final boolean evictOnRoleChange;
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${app.security.jwt.status-cache.ttl-seconds:30}") long ttlSeconds,
+                           @Value("${app.security.jwt.status-cache.max-entries:10000}") int maxEntries,
+                           @Value("${app.security.jwt.status-cache.evict-on-role-change:true}") boolean evictOnRoleChange) {
+        this.userRepository = userRepository;
+        this.cache = new ExpiringCache<>(maxEntries, Clock.systemUTC());
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.evictOnRoleChange = evictOnRoleChange;
+    }
+
+    public Optional<UserAuthState> get(String login) {
+        return cache.get(login, userRepository::findAuthStateByLogin, state -> ttl);
+    }
+
+    public void invalidate(String login) {
+        cache.invalidate(login);
+    }
+
+    /**
+     * Forces tokens carrying the previous role to be re-checked on their next use, unless disabled by configuration.
+     */
+    public void roleChanged(String login) {
+        if (evictOnRoleChange) {
+            cache.invalidate(login);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- Resolved geolocations per IP address, shared across restarts and instances
+CREATE TABLE IF NOT EXISTS ip_geo_locations (
+    ip_address VARCHAR(64) PRIMARY KEY,
+    country VARCHAR(255),
+    city VARCHAR(255),
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    resolved_at TIMESTAMP NOT NULL
+);
+
+-- Supports the backfill scan for action log rows that still lack a location
+CREATE INDEX IF NOT EXISTS idx_action_log_ip_address ON action_log (ip_address);
@@ -0,0 +1,2 @@
+-- Range counts for the dashboard (entries of today and of the last hour) and the newest-first listings
+CREATE INDEX IF NOT EXISTS idx_action_log_timestamp ON action_log (timestamp);
@@ -0,0 +1,7 @@
+-- Indexes backing the filtered action log viewer (newest first) and the per-address / per-login lookups
+CREATE INDEX IF NOT EXISTS idx_action_log_action_timestamp ON action_log (action, timestamp);
+CREATE INDEX IF NOT EXISTS idx_action_log_ip_action_timestamp ON action_log (ip_address, action, timestamp);
+CREATE INDEX IF NOT EXISTS idx_action_log_login_action_timestamp ON action_log (login, action, timestamp);
+
+-- Covered by idx_action_log_ip_action_timestamp, which leads with ip_address
+DROP INDEX IF EXISTS idx_action_log_ip_address;
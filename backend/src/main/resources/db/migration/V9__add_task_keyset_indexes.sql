@@ -0,0 +1,4 @@
+-- Indexes backing keyset pagination of a user's tasks (sort column, then id as tie-breaker)
+CREATE INDEX IF NOT EXISTS idx_tasks_user_position ON tasks (user_id, position, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_due_date ON tasks (user_id, due_date, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_updated_at ON tasks (user_id, updated_at, id);
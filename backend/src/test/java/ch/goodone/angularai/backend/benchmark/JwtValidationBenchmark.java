@@ -0,0 +1,81 @@
+package ch.goodone.angularai.backend.benchmark;
+
+import ch.goodone.angularai.backend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of validating a bearer token. {@code rebuildKeyAndParseThreeTimes} replays the former filter path,
+ * which built the HMAC key and parser for every parse and parsed the token for the subject, the subject again and the
+ * expiry. {@code cachedParserParseOnce} is the current path: one parse with the cached parser, whose claims are then
+ * checked by the filter. Only compiled with the {@code jmh} profile; run with {@code mvn -Pjmh test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=ch.goodone.angularai.backend.benchmark.JwtValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyWithAtLeast32CharactersLong";
+
+    private final JwtService jwtService = new JwtService();
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        userDetails = new User("bench", "", List.of());
+        token = jwtService.generateToken(userDetails, 1L);
+    }
+
+    @Benchmark
+    public boolean rebuildKeyAndParseThreeTimes() {
+        String username = parseWithNewKey(token).getSubject();
+        return username != null
+                && parseWithNewKey(token).getSubject().equals(userDetails.getUsername())
+                && !parseWithNewKey(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean cachedParserParseOnce() {
+        Claims claims = jwtService.extractAllClaims(token);
+        return jwtService.isTokenValid(claims, userDetails);
+    }
+
+    private static Claims parseWithNewKey(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtValidationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
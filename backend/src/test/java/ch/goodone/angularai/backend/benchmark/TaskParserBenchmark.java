@@ -0,0 +1,52 @@
+package ch.goodone.angularai.backend.benchmark;
+
+import ch.goodone.angularai.backend.service.TaskParserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link TaskParserService#parse(String)} for each input style. Only compiled with the {@code jmh}
+ * profile; run with {@code mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=ch.goodone.angularai.backend.benchmark.TaskParserBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskParserBenchmark {
+
+    @Param({
+            "Meeting, Important project, tomorrow, HIGH, OPEN",
+            "Geburtstag Jürg | kaufe kuchen | 25.10.2026 | wichtig | offen",
+            "Präsentation GoodOne Organisiere Teams Meeting 12.1.2026 wichtig archiv",
+            "Hochzeitstag Schatz kritisch kaufe Blumen in 5 tagen",
+            "just a plain title without any metadata at all"
+    })
+    private String input;
+
+    private final TaskParserService parser = new TaskParserService();
+
+    @Benchmark
+    public TaskParserService.ParsedTask parse() {
+        return parser.parse(input);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TaskParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
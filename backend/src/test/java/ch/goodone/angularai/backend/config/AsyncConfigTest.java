@@ -0,0 +1,75 @@
+package ch.goodone.angularai.backend.config;
+
+import ch.goodone.angularai.backend.service.RequestForensics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncConfigTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void decorator_shouldPropagateMdcAndRequestForensics() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 10.0.0.1");
+        request.addHeader("User-Agent", "JUnit");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        MDC.put("traceId", "abc123");
+
+        AtomicReference<String> traceId = new AtomicReference<>();
+        AtomicReference<RequestForensics> forensics = new AtomicReference<>();
+        Runnable decorated = AsyncConfig.contextPropagatingDecorator().decorate(() -> {
+            traceId.set(MDC.get("traceId"));
+            forensics.set(RequestForensics.current());
+        });
+        RequestContextHolder.resetRequestAttributes();
+
+        CompletableFuture.runAsync(decorated).get(5, TimeUnit.SECONDS);
+
+        assertThat(traceId.get()).isEqualTo("abc123");
+        assertThat(forensics.get()).isEqualTo(new RequestForensics("POST", "/api/auth/login", null, "1.2.3.4", "JUnit"));
+    }
+
+    @Test
+    void auditExecutor_shouldRunRejectedTasksOnCallerAndCountThem() throws Exception {
+        MonitoredTaskExecutor executor = new AsyncConfig().auditExecutor(1, 1);
+        executor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> awaitQuietly(release));
+            executor.execute(() -> awaitQuietly(release));
+            AtomicReference<Thread> runner = new AtomicReference<>();
+            executor.execute(() -> runner.set(Thread.currentThread()));
+
+            assertThat(runner.get()).isEqualTo(Thread.currentThread());
+            assertThat(executor.getRejectedCount()).isEqualTo(1);
+            assertThat(executor.getStats()).containsEntry("queueSize", 1).containsEntry("rejectedTasks", 1L);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
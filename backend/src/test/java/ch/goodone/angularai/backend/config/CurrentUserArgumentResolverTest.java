@@ -0,0 +1,95 @@
+package ch.goodone.angularai.backend.config;
+
+import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserArgumentResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CurrentUserArgumentResolver resolver;
+
+    private final NativeWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+
+    @SuppressWarnings("unused")
+    void handler(@CurrentUser User user, @CurrentUser(required = false) User optionalUser, User plainUser) {
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void supportsParameter_shouldRequireAnnotation() throws Exception {
+        assertTrue(resolver.supportsParameter(parameter(0)));
+        assertFalse(resolver.supportsParameter(parameter(2)));
+    }
+
+    @Test
+    void resolveArgument_shouldUseReferenceById_whenPrincipalCarriesId() throws Exception {
+        authenticate(new AuthenticatedUser(7L, "testuser", "", AuthorityUtils.createAuthorityList("ROLE_USER")));
+        User reference = new User();
+        when(userRepository.getReferenceById(7L)).thenReturn(reference);
+
+        assertSame(reference, resolver.resolveArgument(parameter(0), null, webRequest, null));
+        assertSame(reference, resolver.resolveArgument(parameter(0), null, webRequest, null));
+
+        verify(userRepository, times(1)).getReferenceById(7L);
+        verify(userRepository, never()).findByLogin(any());
+    }
+
+    @Test
+    void resolveArgument_shouldFallBackToLoginLookupOncePerRequest() throws Exception {
+        authenticate(new org.springframework.security.core.userdetails.User("testuser", "", AuthorityUtils.createAuthorityList("ROLE_USER")));
+        User user = new User("testuser", "test@example.com");
+        when(userRepository.findByLogin("testuser")).thenReturn(Optional.of(user));
+
+        assertSame(user, resolver.resolveArgument(parameter(0), null, webRequest, null));
+        assertSame(user, resolver.resolveArgument(parameter(1), null, webRequest, null));
+
+        verify(userRepository, times(1)).findByLogin("testuser");
+    }
+
+    @Test
+    void resolveArgument_shouldRejectMissingUser_unlessOptional() throws Exception {
+        assertThrows(AuthenticationCredentialsNotFoundException.class, () -> resolver.resolveArgument(parameter(0), null, webRequest, null));
+        assertNull(resolver.resolveArgument(parameter(1), null, webRequest, null));
+
+        authenticate(new org.springframework.security.core.userdetails.User("ghost", "", AuthorityUtils.createAuthorityList("ROLE_USER")));
+        when(userRepository.findByLogin("ghost")).thenReturn(Optional.empty());
+        assertThrows(UsernameNotFoundException.class, () -> resolver.resolveArgument(parameter(0), null, webRequest, null));
+    }
+
+    private void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private MethodParameter parameter(int index) throws NoSuchMethodException {
+        return new MethodParameter(getClass().getDeclaredMethod("handler", User.class, User.class, User.class), index);
+    }
+}
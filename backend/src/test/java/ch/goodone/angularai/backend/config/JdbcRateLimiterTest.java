@@ -0,0 +1,141 @@
+package ch.goodone.angularai.backend.config;
+
+import ch.goodone.angularai.backend.MutableClock;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class JdbcRateLimiterTest {
+
+    private static final RateLimitingFilter.EndpointLimit LOGIN_LIMIT =
+            new RateLimitingFilter.EndpointLimit("/api/auth/login", 4, Duration.ofMinutes(1));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void tryConsume_shouldShareLimitAcrossInstances() {
+        JdbcRateLimiter first = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 0, 1.0, clock);
+        JdbcRateLimiter second = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 0, 1.0, clock);
+
+        assertTrue(first.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+        assertTrue(second.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+        assertTrue(first.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+        assertTrue(second.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+        assertFalse(first.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+        assertFalse(second.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+        assertTrue(second.tryConsume(LOGIN_LIMIT, "10.0.0.2"));
+
+        clock.advance(Duration.ofSeconds(15));
+        assertTrue(second.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+        assertFalse(first.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+    }
+
+    @Test
+    void tryConsume_shouldServeFromNearCacheBetweenSyncs() {
+        JdbcRateLimiter limiter = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 1000, 1.0, clock);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+        }
+        assertFalse(limiter.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+        assertEquals(1L, limiter.getStats().get("syncs"));
+        assertEquals(3.0, storedTokens("/api/auth/login|10.0.0.1"));
+
+        clock.advance(Duration.ofSeconds(1));
+        limiter.tryConsume(LOGIN_LIMIT, "10.0.0.1");
+
+        assertEquals(2L, limiter.getStats().get("syncs"));
+        assertTrue(storedTokens("/api/auth/login|10.0.0.1") < 1);
+    }
+
+    @Test
+    void tryConsume_shouldNotLetAnotherInstanceSpendTokensAlreadyConsumed() {
+        JdbcRateLimiter first = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 1000, 1.0, clock);
+        JdbcRateLimiter second = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 0, 1.0, clock);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(first.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+        }
+        clock.advance(Duration.ofMillis(1000));
+        assertFalse(first.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+
+        assertFalse(second.tryConsume(LOGIN_LIMIT, "10.0.0.1"));
+    }
+
+    @Test
+    void tryConsume_shouldSyncEarlyOnceLocalShareIsSpent() {
+        JdbcRateLimiter first = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 60000, 0.5, clock);
+        JdbcRateLimiter second = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 60000, 0.5, clock);
+
+        int granted = 0;
+        for (int i = 0; i < 4; i++) {
+            granted += first.tryConsume(LOGIN_LIMIT, "10.0.0.1") ? 1 : 0;
+            granted += second.tryConsume(LOGIN_LIMIT, "10.0.0.1") ? 1 : 0;
+        }
+
+        // With the whole balance to spend locally the two instances would have granted 7 of the 4 tokens
+        assertEquals(5, granted);
+        assertTrue(storedTokens("/api/auth/login|10.0.0.1") < 0);
+    }
+
+    @Test
+    void tryConsume_shouldNotOvershootLowCapacityLimitWithDefaultShare() {
+        JdbcRateLimiter first = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 60000, 0.1, clock);
+        JdbcRateLimiter second = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 60000, 0.1, clock);
+
+        int granted = 0;
+        for (int i = 0; i < 4; i++) {
+            granted += first.tryConsume(LOGIN_LIMIT, "10.0.0.1") ? 1 : 0;
+            granted += second.tryConsume(LOGIN_LIMIT, "10.0.0.1") ? 1 : 0;
+        }
+
+        assertEquals(4, granted);
+    }
+
+    @Test
+    void tryConsume_shouldAllowSpendingWholeBalanceLocallyWithFullShare() {
+        JdbcRateLimiter first = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 60000, 1.0, clock);
+        JdbcRateLimiter second = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 60000, 1.0, clock);
+
+        int granted = 0;
+        for (int i = 0; i < 4; i++) {
+            granted += first.tryConsume(LOGIN_LIMIT, "10.0.0.1") ? 1 : 0;
+            granted += second.tryConsume(LOGIN_LIMIT, "10.0.0.1") ? 1 : 0;
+        }
+
+        assertEquals(7, granted);
+        assertEquals(2L, (long) first.getStats().get("syncs") + (long) second.getStats().get("syncs"));
+    }
+
+    @Test
+    void purgeIdleBuckets_shouldDeleteRowsNotSyncedWithinIdleTimeout() {
+        JdbcRateLimiter limiter = new JdbcRateLimiter(jdbcTemplate, 100, 600000, 0, 1.0, clock);
+        limiter.tryConsume(LOGIN_LIMIT, "10.0.0.1");
+        clock.advance(Duration.ofSeconds(500));
+        limiter.tryConsume(LOGIN_LIMIT, "10.0.0.2");
+
+        clock.advance(Duration.ofSeconds(200));
+
+        assertEquals(1, limiter.purgeIdleBuckets());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rate_limit_buckets", Integer.class));
+    }
+
+    private double storedTokens(String key) {
+        return jdbcTemplate.queryForObject("SELECT tokens FROM rate_limit_buckets WHERE bucket_key = ?", Double.class, key);
+    }
+}
@@ -1,6 +1,13 @@
 package ch.goodone.angularai.backend.config;
 
+import ch.goodone.angularai.backend.dto.UserAuthState;
+import ch.goodone.angularai.backend.model.Role;
+import ch.goodone.angularai.backend.model.UserStatus;
 import ch.goodone.angularai.backend.service.JwtService;
+import ch.goodone.angularai.backend.service.UserStatusCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,9 +21,11 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,6 +38,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private UserStatusCache userStatusCache;
+
     @Mock
     private HttpServletRequest request;
 
@@ -75,16 +87,20 @@ class JwtAuthenticationFilterTest {
         when(userDetails.getUsername()).thenReturn(userLogin);
         when(userDetails.getAuthorities()).thenReturn(Collections.emptyList());
 
+        Claims claims = Jwts.claims().subject(userLogin).build();
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-        when(jwtService.extractUsername(jwt)).thenReturn(userLogin);
+        when(jwtService.extractAllClaims(jwt)).thenReturn(claims);
         when(userDetailsService.loadUserByUsername(userLogin)).thenReturn(userDetails);
-        when(jwtService.isTokenValid(jwt, userDetails)).thenReturn(true);
+        when(jwtService.isTokenValid(claims, userDetails)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         assertEquals(userLogin, SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(jwtService, times(1)).extractAllClaims(jwt);
+        verify(request).setAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, claims);
     }
 
     @Test
@@ -93,14 +109,65 @@ class JwtAuthenticationFilterTest {
         String userLogin = "testuser";
         UserDetails userDetails = mock(UserDetails.class);
 
+        Claims claims = Jwts.claims().subject(userLogin).build();
+
         when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-        when(jwtService.extractUsername(jwt)).thenReturn(userLogin);
+        when(jwtService.extractAllClaims(jwt)).thenReturn(claims);
         when(userDetailsService.loadUserByUsername(userLogin)).thenReturn(userDetails);
-        when(jwtService.isTokenValid(jwt, userDetails)).thenReturn(false);
+        when(jwtService.isTokenValid(claims, userDetails)).thenReturn(false);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
+
+    @Test
+    void doFilterInternal_shouldContinueUnauthenticated_whenJwtCannotBeParsed() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer garbage");
+        when(jwtService.extractAllClaims("garbage")).thenThrow(new MalformedJwtException("malformed"));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilterInternal_shouldAuthenticateFromClaimsWithoutLoadingUser_whenStatelessPrincipalEnabled() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessPrincipal", true);
+        Claims claims = Jwts.claims().subject("testuser").add(JwtService.ROLE_CLAIM, "ROLE_ADMIN").add(JwtService.USER_ID_CLAIM, 1L).build();
+        when(request.getHeader("Authorization")).thenReturn("Bearer jwt");
+        when(jwtService.extractAllClaims("jwt")).thenReturn(claims);
+        when(userStatusCache.get("testuser")).thenReturn(Optional.of(new UserAuthState(1L, UserStatus.ACTIVE, Role.ROLE_ADMIN)));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals("testuser", SecurityContextHolder.getContext().getAuthentication().getName());
+        assertEquals("ROLE_ADMIN", SecurityContextHolder.getContext().getAuthentication().getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilterInternal_shouldRejectClaims_whenUserIsDisabledOrRoleChangedOrLoginReused() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "statelessPrincipal", true);
+        Claims claims = Jwts.claims().subject("testuser").add(JwtService.ROLE_CLAIM, "ROLE_ADMIN").add(JwtService.USER_ID_CLAIM, 1L).build();
+        when(request.getHeader("Authorization")).thenReturn("Bearer jwt");
+        when(jwtService.extractAllClaims("jwt")).thenReturn(claims);
+        when(userStatusCache.get("testuser"))
+                .thenReturn(Optional.of(new UserAuthState(1L, UserStatus.DISABLED, Role.ROLE_ADMIN)))
+                .thenReturn(Optional.of(new UserAuthState(1L, UserStatus.ACTIVE, Role.ROLE_USER)))
+                .thenReturn(Optional.of(new UserAuthState(2L, UserStatus.ACTIVE, Role.ROLE_ADMIN)));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
 }
@@ -0,0 +1,105 @@
+package ch.goodone.angularai.backend.config;
+
+import ch.goodone.angularai.backend.MutableClock;
+import io.github.bucket4j.Bucket;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitingFilterTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void shouldApplyConfiguredLimitPerEndpointAndClient() throws Exception {
+        RateLimitingFilter filter = new RateLimitingFilter(List.of("/api/auth/login=2/60", "/api/auth/register=1/60"), new LocalRateLimiter(100, 60000, clock));
+
+        assertEquals(200, call(filter, "/api/auth/login", "10.0.0.1"));
+        assertEquals(200, call(filter, "/api/auth/login", "10.0.0.1"));
+        assertEquals(429, call(filter, "/api/auth/login", "10.0.0.1"));
+        assertEquals(200, call(filter, "/api/auth/login", "10.0.0.2"));
+        assertEquals(200, call(filter, "/api/auth/register", "10.0.0.1"));
+        assertEquals(429, call(filter, "/api/auth/register", "10.0.0.1"));
+        assertEquals(200, call(filter, "/api/tasks", "10.0.0.1"));
+
+        assertEquals(Map.of("/api/auth/login", 1L, "/api/auth/register", 1L), filter.getStats().get("rejected"));
+    }
+
+    @Test
+    void shouldIgnoreForwardedForHeaderSentByClient() throws Exception {
+        RateLimitingFilter filter = new RateLimitingFilter(List.of("/api/auth/login=1/60"), new LocalRateLimiter(100, 60000, clock));
+
+        assertEquals(200, call(filter, "/api/auth/login", "10.0.0.1", "1.1.1.1"));
+        assertEquals(429, call(filter, "/api/auth/login", "10.0.0.1", "2.2.2.2"));
+    }
+
+    @Test
+    void shouldBoundNumberOfTrackedClients() throws Exception {
+        RateLimitingFilter filter = new RateLimitingFilter(List.of("/api/auth/login=10/60"), new LocalRateLimiter(32, 60000, clock));
+
+        for (int i = 0; i < 1000; i++) {
+            call(filter, "/api/auth/login", "10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        Map<String, Object> stats = filter.getStats();
+        int clients = (int) stats.get("clients");
+        assertTrue(clients <= 32);
+        assertEquals(1000L - clients, stats.get("evictions"));
+    }
+
+    @Test
+    void store_shouldDropIdleBuckets() {
+        RateLimitBucketStore<Bucket> store = new RateLimitBucketStore<>(100, Duration.ofMinutes(1), clock);
+        Bucket first = store.get("a", Duration.ZERO, this::newBucket);
+
+        clock.advance(Duration.ofSeconds(30));
+        assertSame(first, store.get("a", Duration.ZERO, this::newBucket));
+
+        clock.advance(Duration.ofSeconds(61));
+        assertNotSame(first, store.get("a", Duration.ZERO, this::newBucket));
+        assertEquals(1, store.size());
+        assertEquals(1, store.getExpirationCount());
+    }
+
+    @Test
+    void store_shouldKeepBucketsAtLeastForTheirPeriod() {
+        RateLimitBucketStore<Bucket> store = new RateLimitBucketStore<>(100, Duration.ofMinutes(1), clock);
+        Bucket first = store.get("a", Duration.ofMinutes(5), this::newBucket);
+
+        clock.advance(Duration.ofSeconds(120));
+        assertSame(first, store.get("a", Duration.ofMinutes(5), this::newBucket));
+    }
+
+    @Test
+    void shouldRejectMalformedLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimitingFilter(List.of("/api/auth/login"), new LocalRateLimiter(100, 60000, clock)));
+    }
+
+    private Bucket newBucket() {
+        return Bucket.builder().addLimit(limit -> limit.capacity(1).refillGreedy(1, Duration.ofMinutes(1))).build();
+    }
+
+    private int call(RateLimitingFilter filter, String path, String remoteAddr, String... forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor.length > 0) {
+            request.addHeader("X-Forwarded-For", String.join(",", forwardedFor));
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -2,6 +2,7 @@ package ch.goodone.angularai.backend.controller;
 
 import ch.goodone.angularai.backend.config.SecurityConfig;
 import ch.goodone.angularai.backend.dto.ActionLogDTO;
+import ch.goodone.angularai.backend.dto.ActionLogPageDTO;
 import ch.goodone.angularai.backend.service.ActionLogService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -92,6 +93,34 @@ class ActionLogControllerTest {
         verify(actionLogService).getLogs(any(), eq("login"), any(), any());
     }
 
+    @Test
+    @WithMockUser(username = "admin", authorities = {"ROLE_ADMIN"})
+    void shouldGetLogPageByCursor() throws Exception {
+        ActionLogDTO logDTO = new ActionLogDTO(1L, LocalDateTime.now(), "admin", "LOGIN", "Admin logged in");
+        when(actionLogService.getLogPage(eq("login"), any(), any(), eq("abc"), eq(20), eq(false)))
+                .thenReturn(new ActionLogPageDTO(Collections.singletonList(logDTO), "next", null));
+
+        mockMvc.perform(get("/api/admin/logs")
+                        .param("type", "login")
+                        .param("cursor", "abc")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].login").value("admin"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", authorities = {"ROLE_ADMIN"})
+    void shouldRejectInvalidLogCursor() throws Exception {
+        when(actionLogService.getLogPage(any(), any(), any(), any(), eq(20), eq(false)))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/admin/logs")
+                        .param("cursor", "broken")
+                        .param("limit", "20"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(username = "admin", authorities = {"ROLE_ADMIN"})
     void shouldClearLogs() throws Exception {
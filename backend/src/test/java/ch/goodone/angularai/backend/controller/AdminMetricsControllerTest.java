@@ -0,0 +1,62 @@
+package ch.goodone.angularai.backend.controller;
+
+import ch.goodone.angularai.backend.config.SecurityConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@org.springframework.test.context.TestPropertySource(locations = "classpath:test-common.properties")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SecurityConfig.class)
+class AdminMetricsControllerTest {
+
+    @MockitoBean
+    private org.springframework.mail.javamail.JavaMailSender javaMailSender;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(username = "admin-read", authorities = {"ROLE_ADMIN_READ"})
+    void shouldGetMetrics() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.auditExecutor.queueSize").value(0))
+                .andExpect(jsonPath("$.auditExecutor.rejectedTasks").value(0))
+                .andExpect(jsonPath("$.actionLogWriter.dropped").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "user", authorities = {"ROLE_USER"})
+    void shouldRejectNonAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -2,6 +2,7 @@ package ch.goodone.angularai.backend.controller;
 
 import ch.goodone.angularai.backend.config.SecurityConfig;
 import ch.goodone.angularai.backend.service.ActionLogService;
+import ch.goodone.angularai.backend.service.GeoLocationBackfillService;
 import ch.goodone.angularai.backend.service.IpLocationService;
 import ch.goodone.angularai.backend.service.SystemSettingService;
 import org.junit.jupiter.api.BeforeEach;
@@ -55,6 +56,9 @@ class AdminSystemControllerTest {
     @MockitoBean
     private IpLocationService ipLocationService;
 
+    @MockitoBean
+    private GeoLocationBackfillService geoLocationBackfillService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -201,4 +205,38 @@ class AdminSystemControllerTest {
                         .content(objectMapper.writeValueAsString(Map.of("enabled", true))))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @WithMockUser(username = "admin", authorities = {"ROLE_ADMIN"})
+    void shouldStartGeolocationBackfill() throws Exception {
+        when(geoLocationBackfillService.start()).thenReturn(true);
+        when(geoLocationBackfillService.getStats()).thenReturn(Map.of("running", true));
+
+        mockMvc.perform(post("/api/admin/settings/geolocation/backfill").with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.running").value(true));
+
+        verify(actionLogService).log("admin", "GEOLOCATION_BACKFILL_STARTED", "Geolocation backfill started");
+    }
+
+    @Test
+    @WithMockUser(username = "admin", authorities = {"ROLE_ADMIN"})
+    void shouldRejectGeolocationBackfillWhileRunning() throws Exception {
+        when(geoLocationBackfillService.start()).thenReturn(false);
+        when(geoLocationBackfillService.getStats()).thenReturn(Map.of("running", true));
+
+        mockMvc.perform(post("/api/admin/settings/geolocation/backfill").with(csrf()))
+                .andExpect(status().isConflict());
+
+        verify(actionLogService, never()).log(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @WithMockUser(username = "reader", authorities = {"ROLE_ADMIN_READ"})
+    void shouldNotAllowReadOnlyAdminToStartGeolocationBackfill() throws Exception {
+        mockMvc.perform(post("/api/admin/settings/geolocation/backfill").with(csrf()))
+                .andExpect(status().isForbidden());
+
+        verify(geoLocationBackfillService, never()).start();
+    }
 }
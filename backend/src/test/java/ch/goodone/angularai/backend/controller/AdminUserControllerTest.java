@@ -6,6 +6,7 @@ import ch.goodone.angularai.backend.model.Role;
 import ch.goodone.angularai.backend.model.User;
 import ch.goodone.angularai.backend.repository.UserRepository;
 import ch.goodone.angularai.backend.service.ActionLogService;
+import ch.goodone.angularai.backend.service.UserStatusCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -54,6 +55,9 @@ class AdminUserControllerTest {
     @MockitoBean
     private ActionLogService actionLogService;
 
+    @MockitoBean
+    private UserStatusCache userStatusCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -110,6 +114,7 @@ class AdminUserControllerTest {
                 .andExpect(jsonPath("$.role").value("ROLE_ADMIN"));
         
         verify(userRepository).save(any(User.class));
+        verify(userStatusCache).roleChanged("user");
     }
 
     @Test
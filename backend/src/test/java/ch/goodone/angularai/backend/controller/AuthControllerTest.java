@@ -10,9 +10,11 @@ import ch.goodone.angularai.backend.repository.PasswordRecoveryTokenRepository;
 import ch.goodone.angularai.backend.repository.UserRepository;
 import ch.goodone.angularai.backend.repository.VerificationTokenRepository;
 import ch.goodone.angularai.backend.service.ActionLogService;
+import ch.goodone.angularai.backend.service.DashboardCounters;
 import ch.goodone.angularai.backend.service.CaptchaService;
 import ch.goodone.angularai.backend.service.EmailService;
 import ch.goodone.angularai.backend.service.JwtService;
+import ch.goodone.angularai.backend.service.UserStatusCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,6 +61,12 @@ class AuthControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private UserStatusCache userStatusCache;
+
+    @MockitoBean
+    private DashboardCounters dashboardCounters;
+
     @MockitoBean
     private VerificationTokenRepository verificationTokenRepository;
 
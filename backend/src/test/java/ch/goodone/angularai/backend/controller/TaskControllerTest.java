@@ -1,6 +1,8 @@
 package ch.goodone.angularai.backend.controller;
 
 import ch.goodone.angularai.backend.dto.TaskDTO;
+import ch.goodone.angularai.backend.dto.TaskPageDTO;
+import ch.goodone.angularai.backend.dto.TaskSearchResultDTO;
 import ch.goodone.angularai.backend.model.Priority;
 import ch.goodone.angularai.backend.model.Role;
 import ch.goodone.angularai.backend.model.User;
@@ -13,7 +15,9 @@ import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
+import ch.goodone.angularai.backend.config.AuthenticatedUser;
 import ch.goodone.angularai.backend.config.SecurityConfig;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
@@ -30,7 +34,10 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -60,6 +67,9 @@ class TaskControllerTest {
     @MockitoBean
     private ch.goodone.angularai.backend.service.TaskParserService taskParserService;
 
+    @MockitoBean
+    private ch.goodone.angularai.backend.service.TaskImportService taskImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -87,6 +97,18 @@ class TaskControllerTest {
         when(userRepository.findByLogin("testuser")).thenReturn(Optional.of(testUser));
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void shouldSearchTasks() throws Exception {
+        when(taskService.searchTasks(testUser, "test", 0, 20))
+                .thenReturn(new TaskSearchResultDTO(Collections.singletonList(testTaskDTO), 1));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Test Task"))
+                .andExpect(jsonPath("$.total").value(1));
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void shouldGetTasks() throws Exception {
@@ -97,6 +119,41 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[0].title").value("Test Task"));
     }
 
+    @Test
+    void shouldResolveUserFromPrincipalIdWithoutLoginLookup() throws Exception {
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(taskService.getTasks(testUser, null, null, null)).thenReturn(Collections.singletonList(testTaskDTO));
+
+        mockMvc.perform(get("/api/tasks")
+                        .with(user(new AuthenticatedUser(1L, "testuser", "", AuthorityUtils.createAuthorityList("ROLE_USER")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Test Task"));
+
+        verify(userRepository, never()).findByLogin(any());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void shouldGetTaskPage() throws Exception {
+        when(taskService.getTaskPage(testUser, null, null, "DUE_ASC", "abc", 20))
+                .thenReturn(new TaskPageDTO(Collections.singletonList(testTaskDTO), "next"));
+
+        mockMvc.perform(get("/api/tasks?sort=DUE_ASC&cursor=abc&limit=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Test Task"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void shouldRejectInvalidTaskPageCursor() throws Exception {
+        when(taskService.getTaskPage(any(), any(), any(), any(), eq("bad"), eq(20)))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/tasks?cursor=bad&limit=20"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void shouldGetTasksWithSmartFilter() throws Exception {
@@ -173,6 +230,26 @@ class TaskControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void shouldMoveTask() throws Exception {
+        when(taskService.moveTask(testUser, 1L, 2L)).thenReturn(java.util.Optional.of(testTaskDTO));
+        when(taskService.moveTask(testUser, 3L, null)).thenReturn(java.util.Optional.empty());
+
+        mockMvc.perform(put("/api/tasks/1/move")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"afterId\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(testTaskDTO.getTitle()));
+
+        mockMvc.perform(put("/api/tasks/3/move")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void shouldAnalyzeTask() throws Exception {
@@ -190,6 +267,70 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.priority").value("HIGH"));
     }
 
+    @Test
+    @WithMockUser(username = "testuser")
+    void shouldAnalyzeBatchInOrder() throws Exception {
+        when(taskParserService.parse(any())).thenAnswer(invocation -> new ch.goodone.angularai.backend.service.TaskParserService.ParsedTask(
+                invocation.getArgument(0, String.class).toUpperCase(), "", null, Priority.LOW, ch.goodone.angularai.backend.model.TaskStatus.OPEN, java.util.List.of()
+        ));
+
+        mockMvc.perform(post("/api/tasks/analyze/batch")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"lines\":[\"first\",\"\",\"second\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("FIRST"))
+                .andExpect(jsonPath("$[1].title").value("SECOND"));
+
+        verify(taskService, never()).createTasks(any(), any());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void shouldAnalyzeAndCreatePlainTextBatch() throws Exception {
+        when(taskParserService.parse(any())).thenAnswer(invocation -> new ch.goodone.angularai.backend.service.TaskParserService.ParsedTask(
+                invocation.getArgument(0, String.class), "", null, Priority.LOW, ch.goodone.angularai.backend.model.TaskStatus.OPEN, java.util.List.of()
+        ));
+        when(taskService.createTasks(any(User.class), any())).thenReturn(java.util.List.of(testTaskDTO));
+
+        mockMvc.perform(post("/api/tasks/analyze/batch")
+                .param("create", "true")
+                .with(csrf())
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("first\nsecond\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value(testTaskDTO.getTitle()));
+
+        verify(taskService).createTasks(any(User.class), org.mockito.ArgumentMatchers.argThat(tasks -> tasks.size() == 2
+                && "first".equals(tasks.get(0).getTitle()) && "second".equals(tasks.get(1).getTitle())));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void shouldImportTasksByContentType() throws Exception {
+        var result = new ch.goodone.angularai.backend.dto.TaskImportResultDTO(2, 1,
+                java.util.List.of(new ch.goodone.angularai.backend.dto.TaskImportResultDTO.RowError(3, "title is required")));
+        when(taskImportService.importTasks(any(), any(), eq(ch.goodone.angularai.backend.service.TaskImportService.Format.NDJSON)))
+                .thenReturn(result);
+        when(taskImportService.importTasks(any(), any(), eq(ch.goodone.angularai.backend.service.TaskImportService.Format.CSV)))
+                .thenThrow(new IllegalArgumentException("CSV header must contain a title column"));
+
+        mockMvc.perform(post("/api/tasks/import")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"title\":\"a\"}\n{\"title\":\"b\"}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        mockMvc.perform(post("/api/tasks/import")
+                .with(csrf())
+                .contentType("text/csv")
+                .content("name\nx\n"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void shouldBulkDeleteTasks() throws Exception {
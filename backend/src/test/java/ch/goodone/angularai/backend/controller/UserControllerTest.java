@@ -7,6 +7,7 @@ import ch.goodone.angularai.backend.model.User;
 import ch.goodone.angularai.backend.repository.UserRepository;
 import ch.goodone.angularai.backend.repository.VerificationTokenRepository;
 import ch.goodone.angularai.backend.service.ActionLogService;
+import ch.goodone.angularai.backend.service.DashboardCounters;
 import ch.goodone.angularai.backend.service.EmailService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,6 +53,9 @@ class UserControllerTest {
     @MockitoBean
     private EmailService emailService;
 
+    @MockitoBean
+    private DashboardCounters dashboardCounters;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
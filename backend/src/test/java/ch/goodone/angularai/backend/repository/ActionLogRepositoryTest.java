@@ -0,0 +1,59 @@
+package ch.goodone.angularai.backend.repository;
+
+import ch.goodone.angularai.backend.dto.ActionLogDTO;
+import ch.goodone.angularai.backend.model.ActionLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class ActionLogRepositoryTest {
+
+    @Autowired
+    private ActionLogRepository actionLogRepository;
+
+    @Test
+    void findByKeyset_shouldWalkAllPagesNewestFirstIncludingEqualTimestamps() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < 7; i++) {
+            actionLogRepository.save(new ActionLog("user", "TASK_ADDED", "Log " + i, base.plusMinutes(i / 2)));
+        }
+        actionLogRepository.save(new ActionLog("user", "USER_LOGIN", "Other action", base.plusMinutes(10)));
+        Specification<ActionLog> spec = (root, query, cb) -> cb.like(root.get("action"), "TASK_%");
+
+        List<ActionLogDTO> all = new ArrayList<>();
+        ActionLogKeyset keyset = ActionLogKeyset.first();
+        while (true) {
+            List<ActionLogDTO> page = actionLogRepository.findByKeyset(spec, keyset, 3).stream()
+                    .map(ActionLogDTO::fromEntity)
+                    .toList();
+            all.addAll(page);
+            if (page.size() < 3) {
+                break;
+            }
+            keyset = ActionLogKeyset.decode(ActionLogKeyset.after(page.get(2)).encode());
+        }
+
+        assertThat(all).hasSize(7);
+        assertThat(all).extracting(ActionLogDTO::getId).doesNotHaveDuplicates();
+        assertThat(all).extracting(ActionLogDTO::getDetails)
+                .containsExactly("Log 6", "Log 5", "Log 4", "Log 3", "Log 2", "Log 1", "Log 0");
+    }
+
+    @Test
+    void decode_shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> ActionLogKeyset.decode("not-a-cursor"));
+        assertThat(ActionLogKeyset.decode(null).isFirstPage()).isTrue();
+    }
+}
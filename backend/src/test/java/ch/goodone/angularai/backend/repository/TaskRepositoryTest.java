@@ -0,0 +1,166 @@
+package ch.goodone.angularai.backend.repository;
+
+import ch.goodone.angularai.backend.dto.TaskDTO;
+import ch.goodone.angularai.backend.model.Priority;
+import ch.goodone.angularai.backend.model.Task;
+import ch.goodone.angularai.backend.model.TaskStatus;
+import ch.goodone.angularai.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class TaskRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("keyset", "keyset@example.com"));
+        User other = userRepository.save(new User("other", "other@example.com"));
+        taskRepository.save(new Task("Foreign", "", null, Priority.LOW, other));
+    }
+
+    @Test
+    void findByKeyset_shouldWalkAllPagesByPosition() {
+        for (int i = 0; i < 7; i++) {
+            Task task = new Task("Task " + i, "", null, Priority.MEDIUM, user);
+            task.setPosition(i % 3 == 0 ? null : 10 - i);
+            task.setTags(new ArrayList<>(List.of("t" + i)));
+            taskRepository.save(task);
+        }
+
+        List<TaskDTO> all = readAllPages(TaskKeyset.Column.POSITION, 3);
+
+        assertThat(all).hasSize(7);
+        assertThat(all).extracting(TaskDTO::getId).doesNotHaveDuplicates();
+        assertThat(all.subList(0, 4)).extracting(TaskDTO::getPosition).containsExactly(5, 6, 8, 9);
+        assertThat(all.subList(4, 7)).extracting(TaskDTO::getPosition).containsOnlyNulls();
+        assertThat(all).allSatisfy(t -> assertThat(t.getTags()).hasSize(1));
+    }
+
+    @Test
+    void findByKeyset_shouldWalkAllPagesByDueDate() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 5; i++) {
+            taskRepository.save(new Task("Task " + i, "", i == 2 ? null : today.plusDays(i % 2), Priority.MEDIUM, user));
+        }
+
+        List<TaskDTO> all = readAllPages(TaskKeyset.Column.DUE_DATE, 2);
+
+        assertThat(all).extracting(TaskDTO::getDueDate)
+                .containsExactly(today, today, today.plusDays(1), today.plusDays(1), null);
+    }
+
+    @Test
+    void countGroupedByStatus_shouldCountTotalAndRecentlyCreatedPerStatus() {
+        Task old = new Task("Old", "", null, Priority.LOW, user);
+        old.setCreatedAt(LocalDateTime.now().minusDays(3));
+        taskRepository.save(old);
+        Task done = new Task("Done", "", null, Priority.LOW, user);
+        done.setStatus(TaskStatus.DONE);
+        taskRepository.save(done);
+
+        List<TaskStatusCount> counts = taskRepository.countGroupedByStatus(LocalDateTime.now().minusDays(1));
+
+        assertThat(counts).containsExactlyInAnyOrder(
+                new TaskStatusCount(TaskStatus.OPEN, 2L, 1L),
+                new TaskStatusCount(TaskStatus.DONE, 1L, 1L));
+    }
+
+    @Test
+    void countMetricsByUser_shouldGroupByStatusAndPriorityAndCountPastDue() {
+        LocalDate today = LocalDate.now();
+        taskRepository.save(new Task("Late", "", today.minusDays(2), Priority.HIGH, user));
+        taskRepository.save(new Task("Due today", "", today, Priority.HIGH, user));
+        taskRepository.save(new Task("Undated", "", null, Priority.LOW, user));
+        Task done = new Task("Done late", "", today.minusDays(1), Priority.HIGH, user);
+        done.setStatus(TaskStatus.DONE);
+        taskRepository.save(done);
+
+        List<TaskMetricsCount> counts = taskRepository.countMetricsByUser(user, today);
+
+        assertThat(counts).containsExactlyInAnyOrder(
+                new TaskMetricsCount(TaskStatus.OPEN, Priority.HIGH, 2L, 1L),
+                new TaskMetricsCount(TaskStatus.OPEN, Priority.LOW, 1L, 0L),
+                new TaskMetricsCount(TaskStatus.DONE, Priority.HIGH, 1L, 1L));
+    }
+
+    @Test
+    void countTagsByUser_shouldCountTasksPerTagMostUsedFirst() {
+        Task first = new Task("First", "", null, Priority.LOW, user);
+        first.setTags(new ArrayList<>(List.of("work", "urgent")));
+        taskRepository.save(first);
+        Task second = new Task("Second", "", null, Priority.LOW, user);
+        second.setTags(new ArrayList<>(List.of("work")));
+        taskRepository.save(second);
+
+        assertThat(taskRepository.countTagsByUser(user)).containsExactly(
+                new TagCount("work", 2L),
+                new TagCount("urgent", 1L));
+    }
+
+    @Test
+    void findTagsByTaskIds_shouldQueryLongIdListsInChunks() {
+        Task first = new Task("First", "", null, Priority.LOW, user);
+        first.setTags(new ArrayList<>(List.of("a")));
+        Task last = new Task("Last", "", null, Priority.LOW, user);
+        last.setTags(new ArrayList<>(List.of("b", "c")));
+        taskRepository.save(first);
+        taskRepository.save(last);
+        List<Long> ids = new ArrayList<>();
+        ids.add(first.getId());
+        for (long id = -1; ids.size() < 2 * TaskRepositoryCustomImpl.TAG_QUERY_CHUNK_SIZE + 1; id--) {
+            ids.add(id);
+        }
+        ids.add(last.getId());
+
+        Map<Long, List<String>> tags = taskRepository.findTagsByTaskIds(ids);
+
+        assertThat(tags).containsOnlyKeys(first.getId(), last.getId());
+        assertThat(tags.get(last.getId())).containsExactlyInAnyOrder("b", "c");
+    }
+
+    @Test
+    void decode_shouldRejectCursorForOtherSortOrder() {
+        String cursor = new TaskKeyset(TaskKeyset.Column.POSITION, 3, 10L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> TaskKeyset.decode(TaskKeyset.Column.DUE_DATE, cursor));
+        assertThrows(IllegalArgumentException.class, () -> TaskKeyset.decode(TaskKeyset.Column.POSITION, "not-a-cursor"));
+        assertThat(TaskKeyset.decode(TaskKeyset.Column.POSITION, cursor)).isEqualTo(new TaskKeyset(TaskKeyset.Column.POSITION, 3, 10L));
+    }
+
+    private List<TaskDTO> readAllPages(TaskKeyset.Column column, int pageSize) {
+        Specification<Task> spec = (root, query, cb) -> cb.equal(root.get("user"), user);
+        List<TaskDTO> all = new ArrayList<>();
+        String cursor = null;
+        while (true) {
+            List<TaskDTO> page = taskRepository.findByKeyset(spec, TaskKeyset.decode(column, cursor), pageSize);
+            all.addAll(page);
+            if (page.size() < pageSize) {
+                return all;
+            }
+            cursor = TaskKeyset.after(column, page.get(page.size() - 1)).encode();
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package ch.goodone.angularai.backend.repository;
 
+import ch.goodone.angularai.backend.dto.UserAuthState;
 import ch.goodone.angularai.backend.model.Role;
 import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.model.UserStatus;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,4 +40,28 @@ class UserRepositoryTest {
 
         assertThat(found).isEmpty();
     }
+
+    @Test
+    void findAuthStateByLogin_shouldReturnIdStatusAndRole() {
+        User user = new User("John", "Doe", "johndoe", "password", "john@example.com", LocalDate.of(1990, 1, 1), "123 Main St", Role.ROLE_ADMIN);
+        user.setStatus(UserStatus.DISABLED);
+        userRepository.save(user);
+
+        Optional<UserAuthState> state = userRepository.findAuthStateByLogin("johndoe");
+
+        assertThat(state).contains(new UserAuthState(user.getId(), UserStatus.DISABLED, Role.ROLE_ADMIN));
+        assertThat(userRepository.findAuthStateByLogin("nonexistent")).isEmpty();
+    }
+
+    @Test
+    void countWithCreatedSince_shouldCountAllAndRecentUsers() {
+        assertThat(userRepository.countWithCreatedSince(LocalDateTime.now().minusDays(1))).isEqualTo(new RecentCount(0L, 0L));
+
+        User old = new User("old", "old@example.com");
+        old.setCreatedAt(LocalDateTime.now().minusDays(3));
+        userRepository.save(old);
+        userRepository.save(new User("new", "new@example.com"));
+
+        assertThat(userRepository.countWithCreatedSince(LocalDateTime.now().minusDays(1))).isEqualTo(new RecentCount(2L, 1L));
+    }
 }
@@ -0,0 +1,56 @@
+package ch.goodone.angularai.backend.security;
+
+import ch.goodone.angularai.backend.service.LoginAttackDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@org.springframework.test.context.TestPropertySource(locations = "classpath:test-common.properties")
+@ActiveProfiles("test")
+class LoginAttackDetectionIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private LoginAttackDetector loginAttackDetector;
+
+    @MockitoBean
+    private org.springframework.mail.javamail.JavaMailSender javaMailSender;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void failedLogins_shouldBeCountedWithoutActionLogQueries() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                            .with(httpBasic("brute-force-target", "wrong-password"))
+                            .header("X-Forwarded-For", "203.0.113.7"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        assertTrue(loginAttackDetector.isSuspiciousLogin("brute-force-target"));
+        assertFalse(loginAttackDetector.isSuspiciousIp("203.0.113.7"));
+    }
+}
@@ -0,0 +1,138 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.ActionLog;
+import ch.goodone.angularai.backend.repository.ActionLogRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class ActionLogRetentionServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ActionLogRepository actionLogRepository;
+
+    @TempDir
+    Path archiveDir;
+
+    @Test
+    void purge_shouldApplyPolicyPerActionAndDefaultToTheRest() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            save("TASK_ADDED", now.minusDays(40));
+        }
+        save("TASK_ADDED", now.minusDays(5));
+        save("LOGIN_FAILURE", now.minusDays(40));
+        save("USER_LOGIN", now.minusDays(40));
+        save("USER_LOGIN", now.minusDays(100));
+        save("AUDIT", now.minusDays(1000));
+
+        ActionLogRetentionService service = service(List.of("TASK_*=30", "LOGIN_FAILURE=60", "AUDIT=0"), 90, 2, "");
+        ActionLogRetentionService.PurgeResult result = service.purge();
+
+        assertThat(result).isEqualTo(new ActionLogRetentionService.PurgeResult(6, 0, null));
+        assertThat(actionLogRepository.findAll()).extracting(ActionLog::getAction)
+                .containsExactlyInAnyOrder("TASK_ADDED", "LOGIN_FAILURE", "USER_LOGIN", "AUDIT");
+    }
+
+    @Test
+    void purge_shouldLetMoreSpecificPoliciesWin() {
+        LocalDateTime now = LocalDateTime.now();
+        save("TASK_ADDED", now.minusDays(40));
+        save("TASK_DELETED", now.minusDays(40));
+        save("TASK_DELETED", now.minusDays(400));
+        save("TASK_ARCHIVED", now.minusDays(1000));
+        save("TASK_EXPORTED", now.minusDays(15));
+        save("TASK_EXPORTED", now.minusDays(5));
+
+        ActionLogRetentionService service = service(
+                List.of("TASK_*=30", "TASK_DELETED=365", "TASK_ARCHIVED=0", "TASK_EX*=10"), 0, 100, "");
+
+        assertThat(service.purge().deleted()).isEqualTo(3);
+        assertThat(actionLogRepository.findAll()).extracting(ActionLog::getAction)
+                .containsExactlyInAnyOrder("TASK_DELETED", "TASK_ARCHIVED", "TASK_EXPORTED");
+    }
+
+    @Test
+    void purge_shouldArchiveRowsBeforeDeletingThem() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            save("TASK_ADDED", now.minusDays(10));
+        }
+        save("TASK_ADDED", now);
+
+        ActionLogRetentionService.PurgeResult result = service(List.of(), 7, 2, archiveDir.toString()).purge();
+
+        assertThat(result.deleted()).isEqualTo(3);
+        assertThat(result.archived()).isEqualTo(3);
+        List<String> lines = readArchive(Path.of(result.archiveFile()));
+        assertThat(lines).hasSize(3);
+        assertThat(lines).allSatisfy(line -> assertThat(line).contains("\"action\":\"TASK_ADDED\"", "\"ip_address\":\"10.0.0.1\""));
+        assertThat(actionLogRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void purge_shouldNotCreateArchiveWhenNothingIsArchived() throws IOException {
+        save("TASK_ADDED", LocalDateTime.now());
+
+        ActionLogRetentionService.PurgeResult result = service(List.of(), 7, 2, archiveDir.toString()).purge();
+
+        assertThat(result).isEqualTo(new ActionLogRetentionService.PurgeResult(0, 0, null));
+        try (var files = Files.list(archiveDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void purge_shouldKeepEverythingWithoutPolicies() {
+        save("TASK_ADDED", LocalDateTime.now().minusYears(5));
+
+        assertThat(service(List.of(), 0, 100, "").purge().deleted()).isZero();
+        assertThat(actionLogRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void parse_shouldRejectPolicyWithoutDays() {
+        assertThrows(IllegalArgumentException.class, () -> ActionLogRetentionService.RetentionPolicy.parse("TASK_ADDED"));
+        assertThat(ActionLogRetentionService.RetentionPolicy.parse(" TASK_* = 30 "))
+                .isEqualTo(new ActionLogRetentionService.RetentionPolicy("TASK_*", 30));
+    }
+
+    private ActionLogRetentionService service(List<String> policies, int defaultDays, int chunkSize, String archive) {
+        return new ActionLogRetentionService(jdbcTemplate, policies, defaultDays, chunkSize, archive);
+    }
+
+    private void save(String action, LocalDateTime timestamp) {
+        ActionLog log = new ActionLog("retention", action, "details", timestamp);
+        log.setIpAddress("10.0.0.1");
+        actionLogRepository.save(log);
+    }
+
+    private List<String> readArchive(Path file) throws IOException {
+        assertThat(file).startsWith(archiveDir);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
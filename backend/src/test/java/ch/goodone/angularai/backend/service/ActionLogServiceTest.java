@@ -1,6 +1,7 @@
 package ch.goodone.angularai.backend.service;
 
 import ch.goodone.angularai.backend.dto.ActionLogDTO;
+import ch.goodone.angularai.backend.dto.ActionLogPageDTO;
 import ch.goodone.angularai.backend.model.ActionLog;
 import ch.goodone.angularai.backend.repository.ActionLogRepository;
 import org.junit.jupiter.api.Test;
@@ -17,6 +18,7 @@ import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +36,12 @@ class ActionLogServiceTest {
     @Mock
     private IpLocationService ipLocationService;
 
+    @Mock
+    private LoginAttackDetector loginAttackDetector;
+
+    @Mock
+    private DashboardCounters dashboardCounters;
+
     @Test
     void logLogin_shouldSaveActionLog() {
         IpLocationService.GeoLocation loc = new IpLocationService.GeoLocation();
@@ -46,6 +54,21 @@ class ActionLogServiceTest {
         verify(actionLogRepository).save(any(ActionLog.class));
     }
 
+    @Test
+    void logLogin_shouldCheckDetectorInsteadOfCountingLogs() {
+        when(ipLocationService.lookup(anyString())).thenReturn(new IpLocationService.GeoLocation());
+        actionLogService.logLogin("user", "127.0.0.1", "Mozilla/5.0");
+        verify(loginAttackDetector).isSuspiciousIp("127.0.0.1");
+        verify(loginAttackDetector).isSuspiciousLogin("user");
+        verify(actionLogRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void log_shouldFeedLoginFailuresToDetector() {
+        actionLogService.log("user", "LOGIN_FAILURE", "Bad credentials");
+        verify(loginAttackDetector).recordFailure(eq("user"), any());
+    }
+
     @Test
     void log_shouldSaveActionLog() {
         actionLogService.log("user", "ACTION", "Details");
@@ -87,10 +110,39 @@ class ActionLogServiceTest {
         verify(actionLogRepository).findAll(any(Specification.class), eq(pageable));
     }
 
+    @Test
+    void getLogPage_shouldReturnCursorWithoutCountingByDefault() {
+        LocalDateTime now = LocalDateTime.now();
+        ActionLog newer = new ActionLog("user", "TASK_ADDED", "newer", now);
+        newer.setId(2L);
+        ActionLog older = new ActionLog("user", "TASK_ADDED", "older", now.minusMinutes(1));
+        older.setId(1L);
+        when(actionLogRepository.findByKeyset(any(Specification.class), any(), eq(2))).thenReturn(List.of(newer, older));
+
+        ActionLogPageDTO page = actionLogService.getLogPage("task", null, null, null, 1, false);
+
+        assertThat(page.getItems()).extracting(ActionLogDTO::getDetails).containsExactly("newer");
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(page.getTotal()).isNull();
+        verify(actionLogRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void getLogPage_shouldCountOnlyWhenRequested() {
+        when(actionLogRepository.findByKeyset(any(Specification.class), any(), anyInt())).thenReturn(List.of());
+        when(actionLogRepository.count(any(Specification.class))).thenReturn(42L);
+
+        ActionLogPageDTO page = actionLogService.getLogPage("all", null, null, null, 50, true);
+
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getTotal()).isEqualTo(42L);
+    }
+
     @Test
     void clearLogs_shouldDeleteAll() {
         actionLogService.clearLogs();
-        verify(actionLogRepository).deleteAll();
+        verify(actionLogRepository).deleteAllInBatch();
+        verify(actionLogRepository, never()).deleteAll();
     }
 
     @Test
@@ -0,0 +1,151 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.ActionLog;
+import ch.goodone.angularai.backend.repository.ActionLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ActionLogWriterTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ActionLogRepository actionLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ActionLogWriter actionLogWriter;
+
+    @BeforeEach
+    void setUp() {
+        actionLogWriter = new ActionLogWriter(jdbcTemplate, true, 100, 3, 20, ActionLogWriter.OverflowPolicy.CALLER_RUNS);
+        actionLogWriter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        actionLogWriter.stop();
+        actionLogRepository.deleteAll();
+    }
+
+    @Test
+    void submit_shouldWriteAllEntriesWithForensicData() {
+        for (int i = 0; i < 7; i++) {
+            ActionLog log = new ActionLog("writer", "TASK_ADDED", "Task " + i);
+            log.setIpAddress("10.0.0." + i);
+            log.setRequestUri("/api/tasks");
+            log.setLatitude(47.0);
+            actionLogWriter.submit(log);
+        }
+
+        actionLogWriter.stop();
+
+        List<ActionLog> logs = actionLogRepository.findAll();
+        assertThat(logs).hasSize(7);
+        assertThat(logs).allSatisfy(l -> {
+            assertThat(l.getRequestUri()).isEqualTo("/api/tasks");
+            assertThat(l.getLatitude()).isEqualTo(47.0);
+            assertThat(l.getStatusCode()).isNull();
+        });
+        assertThat(actionLogWriter.getWrittenCount()).isEqualTo(7);
+    }
+
+    @Test
+    void submit_shouldSkipEntriesOfRolledBackTransaction() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            actionLogWriter.submit(new ActionLog("writer", "TASK_ADDED", "rolled back"));
+            status.setRollbackOnly();
+        });
+        tx.executeWithoutResult(status -> actionLogWriter.submit(new ActionLog("writer", "TASK_ADDED", "committed")));
+
+        actionLogWriter.stop();
+
+        assertThat(actionLogRepository.findAll()).extracting(ActionLog::getDetails).containsExactly("committed");
+    }
+
+    @Test
+    void submit_shouldDropWhenQueueIsFull() throws Exception {
+        JdbcTemplate blockingJdbcTemplate = mock(JdbcTemplate.class);
+        CountDownLatch inBatch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(blockingJdbcTemplate.batchUpdate(anyString(), any(List.class), anyInt(), any())).thenAnswer(invocation -> {
+            inBatch.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new int[0][];
+        });
+        ActionLogWriter writer = new ActionLogWriter(blockingJdbcTemplate, true, 1, 10, 1000, ActionLogWriter.OverflowPolicy.DROP);
+        writer.start();
+
+        writer.submit(new ActionLog("writer", "A", "in flight"));
+        assertThat(inBatch.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.submit(new ActionLog("writer", "B", "queued"));
+        writer.submit(new ActionLog("writer", "C", "dropped"));
+        release.countDown();
+        writer.stop();
+
+        assertThat(writer.getDroppedCount()).isEqualTo(1);
+        verify(blockingJdbcTemplate, times(2)).batchUpdate(anyString(), any(List.class), anyInt(), any());
+    }
+
+    @Test
+    void stop_shouldLetTheInFlightBatchFinish() throws Exception {
+        JdbcTemplate blockingJdbcTemplate = mock(JdbcTemplate.class);
+        CountDownLatch inBatch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(blockingJdbcTemplate.batchUpdate(anyString(), any(List.class), anyInt(), any())).thenAnswer(invocation -> {
+            inBatch.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("Write interrupted", e);
+            }
+            return new int[0][];
+        });
+        ActionLogWriter writer = new ActionLogWriter(blockingJdbcTemplate, true, 10, 10, 1000, ActionLogWriter.OverflowPolicy.CALLER_RUNS);
+        writer.start();
+
+        writer.submit(new ActionLog("writer", "A", "in flight"));
+        assertThat(inBatch.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        });
+        writer.stop();
+
+        assertThat(writer.getFailedCount()).isZero();
+        assertThat(writer.getWrittenCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,156 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.MutableClock;
+import ch.goodone.angularai.backend.dto.DashboardDTO;
+import ch.goodone.angularai.backend.model.ActionLog;
+import ch.goodone.angularai.backend.model.Priority;
+import ch.goodone.angularai.backend.model.Task;
+import ch.goodone.angularai.backend.model.TaskStatus;
+import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.ActionLogRepository;
+import ch.goodone.angularai.backend.repository.RecentCount;
+import ch.goodone.angularai.backend.repository.TaskRepository;
+import ch.goodone.angularai.backend.repository.TaskStatusCount;
+import ch.goodone.angularai.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardCountersTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ActionLogRepository actionLogRepository;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T10:00:00Z"));
+
+    private DashboardCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new DashboardCounters(taskRepository, userRepository, actionLogRepository, clock);
+        when(taskRepository.countGroupedByStatus(any())).thenReturn(List.of(
+                new TaskStatusCount(TaskStatus.OPEN, 5L, 1L),
+                new TaskStatusCount(TaskStatus.DONE, 2L, 0L)));
+        when(userRepository.countWithCreatedSince(any())).thenReturn(new RecentCount(3L, 0L));
+        when(actionLogRepository.countByTimestampAfter(any())).thenReturn(10L);
+        counters.reconcile();
+    }
+
+    @Test
+    void shouldApplyChangesIncrementally() {
+        Task created = task(TaskStatus.OPEN, now());
+        counters.taskCreated(created);
+        Task old = task(TaskStatus.DONE, now().minusDays(2));
+        old.setStatus(TaskStatus.IN_PROGRESS);
+        counters.taskStatusChanged(old, TaskStatus.DONE);
+        counters.taskDeleted(task(TaskStatus.OPEN, now().minusDays(3)));
+        counters.userCreated(user(now()));
+        counters.actionLogged(new ActionLog("a", "LOGIN", "today", now()));
+        counters.actionLogged(new ActionLog("a", "LOGIN", "yesterday", now().minusDays(1)));
+
+        DashboardDTO.TaskStatusDistribution distribution = counters.getTaskDistribution();
+        assertThat(distribution.getOpen()).isEqualTo(5);
+        assertThat(distribution.getInProgress()).isEqualTo(1);
+        assertThat(distribution.getCompleted()).isEqualTo(1);
+        assertThat(distribution.getTotal()).isEqualTo(7);
+
+        DashboardDTO.SummaryStats summary = counters.getSummary(4);
+        assertThat(summary.getOpenTasks()).isEqualTo(6);
+        assertThat(summary.getOpenTasksDelta()).isEqualTo(2);
+        assertThat(summary.getActiveUsers()).isEqualTo(4);
+        assertThat(summary.getActiveUsersDelta()).isEqualTo(1);
+        assertThat(summary.getTodayLogs()).isEqualTo(11);
+        assertThat(summary.getTodayLogsDelta()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldApplyBulkCreatedCounts() {
+        DashboardDTO.SummaryStats before = counters.getSummary(0);
+
+        counters.tasksCreated(Map.of(TaskStatus.OPEN, 3, TaskStatus.DONE, 2), now());
+        counters.tasksCreated(Map.of(TaskStatus.OPEN, 1), now().minusDays(1));
+
+        DashboardDTO.SummaryStats summary = counters.getSummary(0);
+        assertThat(summary.getOpenTasks()).isEqualTo(before.getOpenTasks() + 4);
+        assertThat(summary.getOpenTasksDelta()).isEqualTo(before.getOpenTasksDelta() + 3);
+        assertThat(counters.getTaskDistribution().getOpen()).isEqualTo(9);
+    }
+
+    @Test
+    void shouldApplyChangesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counters.taskCreated(task(TaskStatus.OPEN, now()));
+            assertThat(counters.getTaskDistribution().getOpen()).isEqualTo(5);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(counters.getTaskDistribution().getOpen()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldResetDailyCountsOnNewDay() {
+        counters.taskCreated(task(TaskStatus.OPEN, now()));
+        clock.advance(Duration.ofDays(1));
+
+        DashboardDTO.SummaryStats summary = counters.getSummary(0);
+        assertThat(summary.getOpenTasks()).isEqualTo(6);
+        assertThat(summary.getOpenTasksDelta()).isZero();
+        assertThat(summary.getTodayLogs()).isZero();
+    }
+
+    @Test
+    void reconcile_shouldReplaceDriftAndKeepChangesMadeWhileLoading() {
+        counters.taskCreated(task(TaskStatus.OPEN, now()));
+        when(taskRepository.countGroupedByStatus(any())).thenAnswer(invocation -> {
+            counters.taskCreated(task(TaskStatus.DONE, now()));
+            return List.of(new TaskStatusCount(TaskStatus.OPEN, 4L, 0L));
+        });
+
+        counters.reconcile();
+
+        DashboardDTO.TaskStatusDistribution distribution = counters.getTaskDistribution();
+        assertThat(distribution.getOpen()).isEqualTo(4);
+        assertThat(distribution.getCompleted()).isEqualTo(1);
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private Task task(TaskStatus status, LocalDateTime createdAt) {
+        Task task = new Task("Task", "", null, Priority.LOW, null);
+        task.setStatus(status);
+        task.setCreatedAt(createdAt);
+        return task;
+    }
+
+    private User user(LocalDateTime createdAt) {
+        User user = new User("new", "new@example.com");
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+}
@@ -3,23 +3,35 @@ package ch.goodone.angularai.backend.service;
 import ch.goodone.angularai.backend.dto.DashboardDTO;
 import ch.goodone.angularai.backend.model.*;
 import ch.goodone.angularai.backend.repository.ActionLogRepository;
+import ch.goodone.angularai.backend.repository.RecentCount;
 import ch.goodone.angularai.backend.repository.TaskRepository;
+import ch.goodone.angularai.backend.repository.TaskStatusCount;
 import ch.goodone.angularai.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,18 +46,27 @@ class DashboardServiceTest {
     @Mock
     private ActionLogRepository actionLogRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private DashboardService dashboardService;
 
+    @BeforeEach
+    void setUp() {
+        DashboardCounters dashboardCounters = new DashboardCounters(taskRepository, userRepository, actionLogRepository);
+        dashboardService = new DashboardService(taskRepository, userRepository, actionLogRepository, dashboardCounters, transactionManager);
+    }
+
     @Test
     void getDashboardData_shouldReturnPopulatedDashboardDTO() {
         // Arrange
-        when(taskRepository.countByStatus(TaskStatus.OPEN)).thenReturn(5L);
-        when(taskRepository.countByStatus(TaskStatus.IN_PROGRESS)).thenReturn(3L);
-        when(taskRepository.countByStatus(TaskStatus.DONE)).thenReturn(10L);
-        when(userRepository.count()).thenReturn(20L);
-        when(actionLogRepository.countByTimestampAfter(any(LocalDateTime.class))).thenReturn(15L);
-        when(taskRepository.count()).thenReturn(18L);
+        when(taskRepository.countGroupedByStatus(any(LocalDateTime.class))).thenReturn(List.of(
+                new TaskStatusCount(TaskStatus.OPEN, 5L, 2L),
+                new TaskStatusCount(TaskStatus.IN_PROGRESS, 3L, 1L),
+                new TaskStatusCount(TaskStatus.DONE, 10L, 4L)));
+        when(userRepository.countWithCreatedSince(any(LocalDateTime.class))).thenReturn(new RecentCount(20L, 2L));
+        when(actionLogRepository.countByTimestampAfter(any())).thenReturn(6L);
+        when(actionLogRepository.countByTimestampAfter(LocalDate.now().atStartOfDay())).thenReturn(15L);
 
         User user = new User("John", "Doe", "jdoe", "pass", "john@example.com", LocalDate.of(1990, 1, 1), "Addr", Role.ROLE_USER);
         user.setId(1L);
@@ -74,11 +95,16 @@ class DashboardServiceTest {
         assertThat(result.getSummary().getCompletedTasks()).isEqualTo(10L);
         assertThat(result.getSummary().getActiveUsers()).isEqualTo(20L);
         assertThat(result.getSummary().getTodayLogs()).isEqualTo(15L);
+        assertThat(result.getSummary().getOpenTasksDelta()).isEqualTo(3L);
+        assertThat(result.getSummary().getCompletedTasksDelta()).isEqualTo(4L);
+        assertThat(result.getSummary().getActiveUsersDelta()).isEqualTo(2L);
+        assertThat(result.getSummary().getTodayLogsDelta()).isEqualTo(6L);
 
         // Task distribution
         assertThat(result.getTaskDistribution().getOpen()).isEqualTo(5L);
         assertThat(result.getTaskDistribution().getInProgress()).isEqualTo(3L);
         assertThat(result.getTaskDistribution().getCompleted()).isEqualTo(10L);
+        assertThat(result.getTaskDistribution().getArchived()).isZero();
         assertThat(result.getTaskDistribution().getTotal()).isEqualTo(18L);
 
         // Lists
@@ -95,14 +121,7 @@ class DashboardServiceTest {
     @Test
     void getDashboardData_shouldReturnEmptyDashboardDTO_whenNoData() {
         // Arrange
-        when(taskRepository.countByStatus(any())).thenReturn(0L);
-        when(userRepository.count()).thenReturn(0L);
-        when(actionLogRepository.countByTimestampAfter(any())).thenReturn(0L);
-        when(taskRepository.count()).thenReturn(0L);
-
-        when(taskRepository.findByPriorityInOrderByIdDesc(any(), any())).thenReturn(Collections.emptyList());
-        when(actionLogRepository.findAllByOrderByTimestampDesc(any())).thenReturn(Collections.emptyList());
-        when(userRepository.findAllByOrderByIdDesc(any())).thenReturn(Collections.emptyList());
+        givenEmptyRepositories();
 
         // Act
         DashboardDTO result = dashboardService.getDashboardData();
@@ -115,4 +134,54 @@ class DashboardServiceTest {
         assertThat(result.getRecentActivity()).isEmpty();
         assertThat(result.getRecentUsers()).isEmpty();
     }
+
+    @Test
+    void getDashboardData_shouldServeSnapshotUntilItExpires() {
+        givenEmptyRepositories();
+        ReflectionTestUtils.setField(dashboardService, "snapshotTtlMs", 60_000L);
+
+        DashboardDTO first = dashboardService.getDashboardData();
+        DashboardDTO second = dashboardService.getDashboardData();
+
+        assertThat(second).isSameAs(first);
+        verify(actionLogRepository, times(1)).findAllByOrderByTimestampDesc(any());
+    }
+
+    @Test
+    void getDashboardData_shouldComputeOnceForConcurrentRequests() throws Exception {
+        givenEmptyRepositories();
+        ReflectionTestUtils.setField(dashboardService, "snapshotTtlMs", 60_000L);
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(actionLogRepository.findAllByOrderByTimestampDesc(any())).thenAnswer(invocation -> {
+            computing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<DashboardDTO>> results = new ArrayList<>();
+            results.add(executor.submit(dashboardService::getDashboardData));
+            assertThat(computing.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(dashboardService::getDashboardData));
+            }
+            release.countDown();
+            for (Future<DashboardDTO> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isNotNull();
+            }
+        }
+
+        verify(actionLogRepository, times(1)).findAllByOrderByTimestampDesc(any());
+    }
+
+    private void givenEmptyRepositories() {
+        when(taskRepository.countGroupedByStatus(any())).thenReturn(List.of());
+        when(userRepository.countWithCreatedSince(any())).thenReturn(new RecentCount(0L, 0L));
+        when(actionLogRepository.countByTimestampAfter(any())).thenReturn(0L);
+
+        when(taskRepository.findByPriorityInOrderByIdDesc(any(), any())).thenReturn(Collections.emptyList());
+        when(actionLogRepository.findAllByOrderByTimestampDesc(any())).thenReturn(Collections.emptyList());
+        when(userRepository.findAllByOrderByIdDesc(any())).thenReturn(Collections.emptyList());
+    }
 }
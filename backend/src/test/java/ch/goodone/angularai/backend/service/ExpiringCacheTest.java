@@ -0,0 +1,83 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringCacheTest {
+
+    @Test
+    void get_ShouldExpireEntriesAfterTtl() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, clock);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", k -> "v" + loads.incrementAndGet(), v -> Duration.ofMinutes(1));
+        assertEquals("v1", cache.get("a", k -> "v" + loads.incrementAndGet(), v -> Duration.ofMinutes(1)));
+
+        clock.advance(Duration.ofSeconds(61));
+        assertEquals("v2", cache.get("a", k -> "v" + loads.incrementAndGet(), v -> Duration.ofMinutes(1)));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsed() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, Clock.systemUTC());
+        cache.put("a", "1", Duration.ofMinutes(1));
+        cache.put("b", "2", Duration.ofMinutes(1));
+        cache.getIfPresent("a");
+        cache.put("c", "3", Duration.ofMinutes(1));
+
+        assertNull(cache.getIfPresent("b"));
+        assertEquals("1", cache.getIfPresent("a"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void get_ShouldCoalesceConcurrentLoads() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Clock.systemUTC());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get("ip", k -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "location";
+        }, v -> Duration.ofMinutes(1)));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get("ip", k -> {
+            loads.incrementAndGet();
+            return "other";
+        }, v -> Duration.ofMinutes(1)));
+        while (cache.getCoalescedCount() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals("location", first.get(5, TimeUnit.SECONDS));
+        assertEquals("location", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
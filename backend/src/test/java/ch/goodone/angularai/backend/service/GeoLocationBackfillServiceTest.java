@@ -0,0 +1,174 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.ActionLog;
+import ch.goodone.angularai.backend.model.IpGeoLocation;
+import ch.goodone.angularai.backend.repository.ActionLogRepository;
+import ch.goodone.angularai.backend.repository.IpGeoLocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class GeoLocationBackfillServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ActionLogRepository actionLogRepository;
+
+    @Autowired
+    private IpGeoLocationRepository ipGeoLocationRepository;
+
+    private final SystemSettingService systemSettingService = mock(SystemSettingService.class);
+    private final StubProvider provider = new StubProvider();
+
+    @BeforeEach
+    void setUp() {
+        when(systemSettingService.isGeolocationEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void backfill_shouldResolveEachDistinctAddressOnceAndUpdateAllRows() {
+        for (int i = 0; i < 3; i++) {
+            saveLog("8.8.8.8", null);
+            saveLog("1.1.1.1", null);
+        }
+        saveLog("9.9.9.9", "Already Known");
+
+        GeoLocationBackfillService.BackfillResult result = service(2, 1).backfill();
+
+        assertThat(result).isEqualTo(new GeoLocationBackfillService.BackfillResult(2, 2, 0, 6));
+        assertThat(provider.calls).containsOnlyKeys("8.8.8.8", "1.1.1.1");
+        assertThat(provider.calls.values()).allMatch(count -> count.get() == 1);
+        assertThat(countryOf("8.8.8.8")).containsOnly("Country of 8.8.8.8");
+        assertThat(countryOf("9.9.9.9")).containsOnly("Already Known");
+        assertThat(ipGeoLocationRepository.findById("1.1.1.1")).isPresent();
+    }
+
+    @Test
+    void backfill_shouldPreferStoredLocationsAndSkipLocalAddresses() {
+        ipGeoLocationRepository.save(new IpGeoLocation("8.8.8.8", "Stored", "City", null, null, LocalDateTime.now()));
+        saveLog("8.8.8.8", null);
+        saveLog("192.168.1.5", null);
+
+        GeoLocationBackfillService.BackfillResult result = service(2, 10).backfill();
+
+        assertThat(result).isEqualTo(new GeoLocationBackfillService.BackfillResult(2, 1, 1, 1));
+        assertThat(provider.calls).isEmpty();
+        assertThat(countryOf("8.8.8.8")).containsOnly("Stored");
+        assertThat(countryOf("192.168.1.5")).containsOnly((String) null);
+    }
+
+    @Test
+    void backfill_shouldBoundConcurrentProviderCalls() {
+        for (int i = 1; i <= 20; i++) {
+            saveLog("8.8.8." + i, null);
+        }
+        provider.delayMillis = 20;
+
+        GeoLocationBackfillService.BackfillResult result = service(3, 10).backfill();
+
+        assertThat(result.rowsUpdated()).isEqualTo(20);
+        assertThat(provider.maxConcurrent.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void backfill_shouldKeepRowsUntouchedWhenProviderFails() {
+        saveLog("8.8.8.8", null);
+        provider.failing = true;
+
+        GeoLocationBackfillService.BackfillResult result = service(2, 10).backfill();
+
+        assertThat(result).isEqualTo(new GeoLocationBackfillService.BackfillResult(1, 0, 1, 0));
+        assertThat(ipGeoLocationRepository.count()).isZero();
+    }
+
+    @Test
+    void backfill_shouldDoNothingWhenGeolocationIsDisabled() {
+        when(systemSettingService.isGeolocationEnabled()).thenReturn(false);
+        saveLog("8.8.8.8", null);
+
+        assertThat(service(2, 10).backfill()).isNull();
+        assertThat(provider.calls).isEmpty();
+    }
+
+    @Test
+    void start_shouldRefuseSecondRunBeforeTheFirstHasStarted() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(systemSettingService.isGeolocationEnabled()).thenAnswer(invocation -> {
+            release.await();
+            return false;
+        });
+        GeoLocationBackfillService service = service(2, 10);
+
+        assertThat(service.start()).isTrue();
+        assertThat(service.start()).isFalse();
+        assertThat(service.backfill()).isNull();
+
+        release.countDown();
+        for (int i = 0; i < 100 && service.isRunning(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(service.isRunning()).isFalse();
+    }
+
+    private GeoLocationBackfillService service(int concurrency, int chunkSize) {
+        return new GeoLocationBackfillService(jdbcTemplate, ipGeoLocationRepository, provider, systemSettingService, concurrency, chunkSize);
+    }
+
+    private void saveLog(String ip, String country) {
+        ActionLog log = new ActionLog("backfill", "USER_LOGIN", "details");
+        log.setIpAddress(ip);
+        log.setCountry(country);
+        actionLogRepository.save(log);
+    }
+
+    private List<String> countryOf(String ip) {
+        return jdbcTemplate.queryForList("SELECT country FROM action_log WHERE ip_address = ?", String.class, ip);
+    }
+
+    private static class StubProvider implements GeoLocationProvider {
+
+        private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private volatile long delayMillis;
+        private volatile boolean failing;
+
+        @Override
+        public IpLocationService.GeoLocation resolve(String ip) {
+            calls.computeIfAbsent(ip, k -> new AtomicInteger()).incrementAndGet();
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+            if (failing) {
+                return null;
+            }
+            IpLocationService.GeoLocation location = new IpLocationService.GeoLocation();
+            location.setCountry("Country of " + ip);
+            return location;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package ch.goodone.angularai.backend.service;
 
+import ch.goodone.angularai.backend.model.IpGeoLocation;
+import ch.goodone.angularai.backend.repository.IpGeoLocationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,8 +12,10 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,6 +29,9 @@ class IpLocationServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private IpGeoLocationRepository ipGeoLocationRepository;
+
     @InjectMocks
     private IpLocationService ipLocationService;
 
@@ -135,4 +142,90 @@ class IpLocationServiceTest {
         assertNull(result.getLatitude());
         assertNull(result.getLongitude());
     }
+
+    @Test
+    void lookup_ShouldServeRepeatedIpFromCache() {
+        when(systemSettingService.isGeolocationEnabled()).thenReturn(true);
+        Map<String, Object> response = new HashMap<>();
+        response.put("country_name", "Switzerland");
+        when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), isNull(), any(org.springframework.core.ParameterizedTypeReference.class)))
+                .thenReturn(org.springframework.http.ResponseEntity.ok(response));
+
+        ipLocationService.lookup("8.8.8.8").setCountry("mutated by caller");
+        IpLocationService.GeoLocation second = ipLocationService.lookup("8.8.8.8");
+
+        assertEquals("Switzerland", second.getCountry());
+        verify(restTemplate, times(1)).exchange(anyString(), any(), any(), any(org.springframework.core.ParameterizedTypeReference.class));
+        assertEquals(1L, ipLocationService.getStats().get("hits"));
+    }
+
+    @Test
+    void lookup_ShouldCacheFailuresForShorterTtl() {
+        when(systemSettingService.isGeolocationEnabled()).thenReturn(true);
+        when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), isNull(), any(org.springframework.core.ParameterizedTypeReference.class)))
+                .thenThrow(new RuntimeException("API down"));
+
+        ipLocationService.lookup("8.8.8.8");
+        ipLocationService.lookup("8.8.8.8");
+
+        verify(restTemplate, times(1)).exchange(anyString(), any(), any(), any(org.springframework.core.ParameterizedTypeReference.class));
+        assertEquals(1L, ipLocationService.getStats().get("providerFailures"));
+    }
+
+    @Test
+    void lookup_ShouldShareEntryPerNetworkPrefix_WhenEnabled() {
+        ReflectionTestUtils.setField(ipLocationService, "prefixKeys", true);
+        when(systemSettingService.isGeolocationEnabled()).thenReturn(true);
+        when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), isNull(), any(org.springframework.core.ParameterizedTypeReference.class)))
+                .thenReturn(org.springframework.http.ResponseEntity.ok(Map.of("country_name", "Germany")));
+
+        ipLocationService.lookup("8.8.8.8");
+        assertEquals("Germany", ipLocationService.lookup("8.8.8.200").getCountry());
+
+        verify(restTemplate, times(1)).exchange(anyString(), any(), any(), any(org.springframework.core.ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void lookup_ShouldServeFromPersistentStoreWithoutCallingProvider() {
+        when(systemSettingService.isGeolocationEnabled()).thenReturn(true);
+        when(ipGeoLocationRepository.findById("8.8.8.8")).thenReturn(Optional.of(
+                new IpGeoLocation("8.8.8.8", "Switzerland", "Bern", 46.9, 7.4, LocalDateTime.now().minusDays(1))));
+
+        IpLocationService.GeoLocation result = ipLocationService.lookup("8.8.8.8");
+
+        assertEquals("Bern", result.getCity());
+        verifyNoInteractions(restTemplate);
+        assertEquals(1L, ipLocationService.getStats().get("storeHits"));
+    }
+
+    @Test
+    void lookup_ShouldIgnoreOutdatedStoreEntryAndPersistFreshResult() {
+        when(systemSettingService.isGeolocationEnabled()).thenReturn(true);
+        when(ipGeoLocationRepository.findById("8.8.8.8")).thenReturn(Optional.of(
+                new IpGeoLocation("8.8.8.8", "Old", null, null, null, LocalDateTime.now().minusDays(365))));
+        when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), isNull(), any(org.springframework.core.ParameterizedTypeReference.class)))
+                .thenReturn(org.springframework.http.ResponseEntity.ok(Map.of("country_name", "Germany")));
+
+        assertEquals("Germany", ipLocationService.lookup("8.8.8.8").getCountry());
+
+        verify(ipGeoLocationRepository).save(argThat(entry -> entry.getIpAddress().equals("8.8.8.8") && entry.getCountry().equals("Germany")));
+    }
+
+    @Test
+    void lookup_ShouldNotPersistFailedLookups() {
+        when(systemSettingService.isGeolocationEnabled()).thenReturn(true);
+        when(restTemplate.exchange(anyString(), eq(org.springframework.http.HttpMethod.GET), isNull(), any(org.springframework.core.ParameterizedTypeReference.class)))
+                .thenThrow(new RuntimeException("API down"));
+
+        ipLocationService.lookup("8.8.8.8");
+
+        verify(ipGeoLocationRepository, never()).save(any());
+    }
+
+    @Test
+    void networkPrefix_ShouldCollapseIpv4AndIpv6() {
+        assertEquals("8.8.8.0/24", IpLocationService.networkPrefix("8.8.8.8"));
+        assertEquals("20010db885a30000::/64", IpLocationService.networkPrefix("2001:db8:85a3::8a2e:370:7334"));
+        assertEquals("garbage", IpLocationService.networkPrefix("garbage"));
+    }
 }
@@ -1,5 +1,6 @@
 package ch.goodone.angularai.backend.service;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -76,4 +77,37 @@ class JwtServiceTest {
         String role = jwtService.extractClaim(token, claims -> claims.get("role", String.class));
         assertEquals("ADMIN", role);
     }
+
+    @Test
+    void isTokenValid_shouldAcceptClaimsParsedOnce() {
+        UserDetails userDetails = new User("testuser", "password", Collections.emptyList());
+        String token = jwtService.generateToken(userDetails);
+
+        Claims claims = jwtService.extractAllClaims(token);
+
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+        assertFalse(jwtService.isTokenValid(claims, new User("otheruser", "password", Collections.emptyList())));
+    }
+
+    @Test
+    void extractAllClaims_shouldRejectTokenSignedWithOtherKey() {
+        String foreignToken = Jwts.builder()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(Keys.hmacShaKeyFor("anotherSecretKeyWithAtLeast32CharactersLong".getBytes()))
+                .compact();
+
+        assertThrows(io.jsonwebtoken.security.SignatureException.class, () -> jwtService.extractAllClaims(foreignToken));
+    }
+
+    @Test
+    void generateToken_shouldEmbedUserIdAndRole() {
+        UserDetails userDetails = new User("testuser", "password", Collections.singletonList(
+                new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(userDetails, 42L));
+
+        assertEquals(42L, claims.get(JwtService.USER_ID_CLAIM, Long.class));
+        assertEquals("ROLE_ADMIN", claims.get(JwtService.ROLE_CLAIM, String.class));
+    }
 }
@@ -0,0 +1,97 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginAttackDetectorTest {
+
+    private final MutableClock clock = new MutableClock(Instant.ofEpochMilli(1_000_000));
+
+    @Test
+    void shouldFlagIpAndLoginAboveThreshold() {
+        LoginAttackDetector detector = new LoginAttackDetector(60, 10, 5, 1000, clock);
+
+        for (int i = 0; i < 6; i++) {
+            detector.recordFailure("victim", "1.1.1.1");
+        }
+        assertTrue(detector.isSuspiciousLogin("victim"));
+        assertFalse(detector.isSuspiciousIp("1.1.1.1"));
+
+        for (int i = 0; i < 5; i++) {
+            detector.recordFailure("user" + i, "1.1.1.1");
+        }
+        assertTrue(detector.isSuspiciousIp("1.1.1.1"));
+        assertFalse(detector.isSuspiciousIp("2.2.2.2"));
+    }
+
+    @Test
+    void shouldForgetFailuresOutsideWindow() {
+        LoginAttackDetector detector = new LoginAttackDetector(60, 10, 5, 1000, clock);
+        for (int i = 0; i < 4; i++) {
+            detector.recordFailure("victim", "1.1.1.1");
+        }
+        clock.advance(Duration.ofSeconds(30));
+        for (int i = 0; i < 4; i++) {
+            detector.recordFailure("victim", "1.1.1.1");
+        }
+        assertTrue(detector.isSuspiciousLogin("victim"));
+
+        clock.advance(Duration.ofSeconds(35));
+        assertFalse(detector.isSuspiciousLogin("victim"));
+
+        clock.advance(Duration.ofSeconds(60));
+        assertFalse(detector.isSuspiciousLogin("victim"));
+    }
+
+    @Test
+    void counters_shouldKeepTrackedKeysBounded() {
+        SlidingWindowCounters counters = new SlidingWindowCounters(60_000, 12, 100, 5);
+        for (int i = 0; i < 1000; i++) {
+            counters.increment("ip-" + i, clock.millis());
+        }
+        assertTrue(counters.size() <= 100);
+
+        counters.increment("late", clock.millis());
+        assertEquals(1, counters.count("late", clock.millis()));
+        assertEquals(0, counters.count(null, clock.millis()));
+    }
+
+    @Test
+    void counters_shouldEvictQuietKeysAndNeverKeysAtThreshold() {
+        SlidingWindowCounters counters = new SlidingWindowCounters(60_000, 12, 100, 5);
+        for (int i = 0; i < 5; i++) {
+            counters.increment("victim", clock.millis());
+        }
+        for (int i = 0; i < 3; i++) {
+            counters.increment("busy", clock.millis());
+        }
+        for (int i = 0; i < 1000; i++) {
+            counters.increment("login-" + i, clock.millis());
+        }
+
+        assertTrue(counters.size() <= 100);
+        assertEquals(5, counters.count("victim", clock.millis()));
+        assertEquals(3, counters.count("busy", clock.millis()));
+    }
+
+    @Test
+    void detector_shouldKeepTrackingTargetedLoginDuringFloodOfDistinctLogins() {
+        LoginAttackDetector detector = new LoginAttackDetector(60, 1000, 5, 100, clock);
+        for (int i = 0; i < 5; i++) {
+            detector.recordFailure("victim", null);
+        }
+        for (int i = 0; i < 1000; i++) {
+            detector.recordFailure("login-" + i, null);
+        }
+        detector.recordFailure("victim", null);
+
+        assertTrue(detector.isSuspiciousLogin("victim"));
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,7 +26,7 @@ class SystemSettingServiceTest {
     @Test
     void isGeolocationEnabled_ReturnsTrue_WhenValueIsTrue() {
         SystemSetting setting = new SystemSetting(SystemSettingService.GEOLOCATION_ENABLED, "true");
-        when(repository.findById(SystemSettingService.GEOLOCATION_ENABLED)).thenReturn(Optional.of(setting));
+        givenSettings(setting);
 
         assertTrue(systemSettingService.isGeolocationEnabled());
     }
@@ -33,14 +34,14 @@ class SystemSettingServiceTest {
     @Test
     void isGeolocationEnabled_ReturnsFalse_WhenValueIsFalse() {
         SystemSetting setting = new SystemSetting(SystemSettingService.GEOLOCATION_ENABLED, "false");
-        when(repository.findById(SystemSettingService.GEOLOCATION_ENABLED)).thenReturn(Optional.of(setting));
+        givenSettings(setting);
 
         assertFalse(systemSettingService.isGeolocationEnabled());
     }
 
     @Test
     void isGeolocationEnabled_ReturnsFalse_WhenNotFound() {
-        when(repository.findById(SystemSettingService.GEOLOCATION_ENABLED)).thenReturn(Optional.empty());
+        givenSettings();
 
         assertFalse(systemSettingService.isGeolocationEnabled());
     }
@@ -48,14 +49,14 @@ class SystemSettingServiceTest {
     @Test
     void getRecaptchaConfigIndex_ReturnsValueFromDatabase() {
         SystemSetting setting = new SystemSetting(SystemSettingService.RECAPTCHA_CONFIG_INDEX, "3");
-        when(repository.findById(SystemSettingService.RECAPTCHA_CONFIG_INDEX)).thenReturn(Optional.of(setting));
+        givenSettings(setting);
 
         assertEquals(3, systemSettingService.getRecaptchaConfigIndex());
     }
 
     @Test
     void getRecaptchaConfigIndex_ReturnsFallback_WhenNotFoundAndDefaultIsNull() {
-        when(repository.findById(SystemSettingService.RECAPTCHA_CONFIG_INDEX)).thenReturn(Optional.empty());
+        givenSettings();
         // defaultRecaptchaConfig is null here
         assertEquals(1, systemSettingService.getRecaptchaConfigIndex());
     }
@@ -63,7 +64,7 @@ class SystemSettingServiceTest {
     @Test
     void getRecaptchaConfigIndex_ReturnsFallback_WhenDatabaseValueInvalid() {
         SystemSetting setting = new SystemSetting(SystemSettingService.RECAPTCHA_CONFIG_INDEX, "invalid");
-        when(repository.findById(SystemSettingService.RECAPTCHA_CONFIG_INDEX)).thenReturn(Optional.of(setting));
+        givenSettings(setting);
         assertEquals(1, systemSettingService.getRecaptchaConfigIndex());
     }
 
@@ -91,14 +92,14 @@ class SystemSettingServiceTest {
 
     @Test
     void isLandingMessageEnabled_ReturnsTrue_ByDefault() {
-        when(repository.findById(SystemSettingService.LANDING_MESSAGE_ENABLED)).thenReturn(Optional.empty());
+        givenSettings();
         assertTrue(systemSettingService.isLandingMessageEnabled());
     }
 
     @Test
     void isLandingMessageEnabled_ReturnsFalse_WhenDisabled() {
         SystemSetting setting = new SystemSetting(SystemSettingService.LANDING_MESSAGE_ENABLED, "false");
-        when(repository.findById(SystemSettingService.LANDING_MESSAGE_ENABLED)).thenReturn(Optional.of(setting));
+        givenSettings(setting);
         assertFalse(systemSettingService.isLandingMessageEnabled());
     }
 
@@ -112,4 +113,56 @@ class SystemSettingServiceTest {
         assertEquals("false", setting.getValue());
         verify(repository).save(setting);
     }
+
+    @Test
+    void getters_ShouldServeRepeatedReadsFromSnapshot() {
+        givenSettings(new SystemSetting(SystemSettingService.GEOLOCATION_ENABLED, "true"),
+                new SystemSetting(SystemSettingService.RECAPTCHA_CONFIG_INDEX, "2"));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(systemSettingService.isGeolocationEnabled());
+            assertEquals(2, systemSettingService.getRecaptchaConfigIndex());
+            assertTrue(systemSettingService.isLandingMessageEnabled());
+        }
+
+        verify(repository, times(1)).findAll();
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void setGeolocationEnabled_ShouldBumpVersionAndRefreshSnapshot() {
+        when(repository.findById(SystemSettingService.GEOLOCATION_ENABLED)).thenReturn(Optional.empty());
+        givenSettings(new SystemSetting(SystemSettingService.GEOLOCATION_ENABLED, "true"));
+
+        systemSettingService.setGeolocationEnabled(true);
+
+        verify(repository).save(argThat(s -> s.getKey().equals(SystemSettingService.SETTINGS_VERSION) && s.getValue() != null));
+        assertTrue(systemSettingService.isGeolocationEnabled());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void refreshIfChanged_ShouldReloadOnlyWhenVersionDiffers() {
+        givenSettings(new SystemSetting(SystemSettingService.SETTINGS_VERSION, "v1"),
+                new SystemSetting(SystemSettingService.GEOLOCATION_ENABLED, "false"));
+        assertFalse(systemSettingService.isGeolocationEnabled());
+
+        when(repository.findById(SystemSettingService.SETTINGS_VERSION))
+                .thenReturn(Optional.of(new SystemSetting(SystemSettingService.SETTINGS_VERSION, "v1")));
+        systemSettingService.refreshIfChanged();
+        verify(repository, times(1)).findAll();
+
+        givenSettings(new SystemSetting(SystemSettingService.SETTINGS_VERSION, "v2"),
+                new SystemSetting(SystemSettingService.GEOLOCATION_ENABLED, "true"));
+        when(repository.findById(SystemSettingService.SETTINGS_VERSION))
+                .thenReturn(Optional.of(new SystemSetting(SystemSettingService.SETTINGS_VERSION, "v2")));
+        systemSettingService.refreshIfChanged();
+
+        assertTrue(systemSettingService.isGeolocationEnabled());
+        verify(repository, times(2)).findAll();
+    }
+
+    private void givenSettings(SystemSetting... settings) {
+        when(repository.findAll()).thenReturn(List.of(settings));
+    }
 }
@@ -0,0 +1,59 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.Priority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskBatchAnalyzerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+    private final TaskBatchAnalyzer analyzer = new TaskBatchAnalyzer(new TaskParserService(), executor, 20, 2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void analyze_shouldKeepInputOrderAndSkipBlankLines() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            lines.add("Task " + i + (i % 2 == 0 ? " high" : ""));
+            lines.add(" ");
+        }
+
+        var result = analyzer.analyze(lines);
+
+        assertThat(result).extracting(TaskParserService.ParsedTask::title)
+                .containsExactly("Task 0", "Task 1", "Task 2", "Task 3", "Task 4", "Task 5", "Task 6", "Task 7", "Task 8");
+        assertThat(result.get(2).priority()).isEqualTo(Priority.HIGH);
+        assertThat(result.get(3).priority()).isEqualTo(Priority.MEDIUM);
+    }
+
+    @Test
+    void analyze_shouldReadStreamedText() {
+        var result = analyzer.analyze(new StringReader("Buy milk tomorrow\r\n\r\nCall Bob low\nWrite report"));
+
+        assertThat(result).extracting(TaskParserService.ParsedTask::title)
+                .containsExactly("Buy milk", "Call Bob", "Write report");
+    }
+
+    @Test
+    void analyze_shouldRejectTooManyLines() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            lines.add("Task " + i);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> analyzer.analyze(lines));
+    }
+}
@@ -0,0 +1,178 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.dto.TaskImportResultDTO;
+import ch.goodone.angularai.backend.model.Priority;
+import ch.goodone.angularai.backend.model.Task;
+import ch.goodone.angularai.backend.model.TaskStatus;
+import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.TaskRepository;
+import ch.goodone.angularai.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class TaskImportServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ActionLogService actionLogService = mock(ActionLogService.class);
+    private final DashboardCounters dashboardCounters = mock(DashboardCounters.class);
+    private final TaskSearchIndex searchIndex = mock(TaskSearchIndex.class);
+
+    private TaskImportService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        service = new TaskImportService(jdbcTemplate, taskRepository, userRepository, actionLogService, dashboardCounters, searchIndex,
+                transactionManager, 2);
+        user = userRepository.save(new User("importer", "importer@example.com"));
+        Task existing = new Task("Existing", "", null, Priority.LOW, user);
+        existing.setPosition(5000);
+        taskRepository.save(existing);
+    }
+
+    @Test
+    void importTasks_shouldInsertNdjsonInBatchesAfterExistingTasks() {
+        String body = """
+                {"title":"First","priority":"HIGH","dueDate":"2026-11-01","tags":["work","q4"],"id":99}
+
+                {"title":"Second","status":"done"}
+                {"title":"Third","description":"last"}
+                """;
+
+        TaskImportResultDTO result = service.importTasks(user, new StringReader(body), TaskImportService.Format.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getRejected()).isZero();
+        List<Task> tasks = taskRepository.findByUserOrderByPositionAsc(user);
+        assertThat(tasks).extracting(Task::getTitle).containsExactly("Existing", "First", "Second", "Third");
+        assertThat(tasks).extracting(Task::getPosition).containsExactly(5000, 5000 + TaskOrdering.POSITION_GAP,
+                5000 + 2 * TaskOrdering.POSITION_GAP, 5000 + 3 * TaskOrdering.POSITION_GAP);
+        Task first = tasks.get(1);
+        assertThat(first.getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(first.getDueDate()).isEqualTo(LocalDate.of(2026, 11, 1));
+        assertThat(first.getTags()).containsExactly("work", "q4");
+        assertThat(tasks.get(2).getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(tasks.get(2).getCompletedAt()).isNotNull();
+        assertThat(tasks.get(3).getPriority()).isEqualTo(Priority.MEDIUM);
+
+        verify(dashboardCounters).tasksCreated(eq(Map.of(TaskStatus.OPEN, 2, TaskStatus.DONE, 1)), any(LocalDateTime.class));
+        verify(searchIndex).tasksChanged(user);
+        verify(actionLogService).log("importer", "TASK_IMPORTED", "Imported 3 tasks from NDJSON, rejected 0 rows");
+    }
+
+    @Test
+    void importTasks_shouldReportInvalidRowsAndKeepTheRest() {
+        String body = """
+                {"title":"Valid"}
+                {"title":""}
+                not json
+                {"title":"Bad status","status":"LATER"}
+                """;
+
+        TaskImportResultDTO result = service.importTasks(user, new StringReader(body), TaskImportService.Format.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(TaskImportResultDTO.RowError::getLine).containsExactly(2, 3, 4);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("title is required");
+        assertThat(result.getErrors().get(2).getMessage()).isEqualTo("unknown status 'LATER'");
+        assertThat(taskRepository.findByUserOrderByPositionAsc(user)).extracting(Task::getTitle).containsExactly("Existing", "Valid");
+    }
+
+    @Test
+    void importTasks_shouldRejectNullRowsWithoutEndingTheImport() {
+        String body = """
+                {"title":"Before"}
+                null
+                {"title":"After"}
+                """;
+
+        TaskImportResultDTO result = service.importTasks(user, new StringReader(body), TaskImportService.Format.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(TaskImportResultDTO.RowError::getLine).containsExactly(2);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("row must be a JSON object");
+        assertThat(taskRepository.findByUserOrderByPositionAsc(user)).extracting(Task::getTitle)
+                .containsExactly("Existing", "Before", "After");
+    }
+
+    @Test
+    void importTasks_shouldKeepAndLogBatchesInsertedBeforeAFailure() {
+        Task last = new Task("Last", "", null, Priority.LOW, user);
+        last.setPosition(Integer.MAX_VALUE - 3 * TaskOrdering.POSITION_GAP);
+        taskRepository.save(last);
+        String body = """
+                {"title":"One"}
+                {"title":"Two"}
+                {"title":"Three"}
+                {"title":"Four"}
+                """;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.importTasks(user, new StringReader(body), TaskImportService.Format.NDJSON));
+
+        assertThat(taskRepository.findByUserOrderByPositionAsc(user)).extracting(Task::getTitle)
+                .containsExactly("Existing", "Last", "One", "Two");
+        verify(dashboardCounters).tasksCreated(eq(Map.of(TaskStatus.OPEN, 2)), any(LocalDateTime.class));
+        verify(actionLogService).log("importer", "TASK_IMPORTED", "Imported 2 tasks from NDJSON, rejected 0 rows");
+    }
+
+    @Test
+    void importTasks_shouldReadCsvWithQuotedFieldsAndHeaderInAnyOrder() {
+        String body = "priority,title,due_date,tags,description\n"
+                + "low,\"Call \"\"Bob\"\"\",2026-12-24,home; family,\"two\nlines\"\n"
+                + "urgent,Bad priority,,,\n"
+                + "CRITICAL,Fix prod,,,\n";
+
+        TaskImportResultDTO result = service.importTasks(user, new StringReader(body), TaskImportService.Format.CSV);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(TaskImportResultDTO.RowError::getLine).containsExactly(4);
+        List<Task> tasks = taskRepository.findByUserOrderByPositionAsc(user);
+        Task call = tasks.get(1);
+        assertThat(call.getTitle()).isEqualTo("Call \"Bob\"");
+        assertThat(call.getDescription()).isEqualTo("two\nlines");
+        assertThat(call.getPriority()).isEqualTo(Priority.LOW);
+        assertThat(call.getDueDate()).isEqualTo(LocalDate.of(2026, 12, 24));
+        assertThat(call.getTags()).containsExactly("home", "family");
+        assertThat(tasks.get(2).getPriority()).isEqualTo(Priority.CRITICAL);
+    }
+
+    @Test
+    void importTasks_shouldRejectCsvWithoutTitleColumn() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.importTasks(user, new StringReader("name,priority\nx,low\n"), TaskImportService.Format.CSV));
+    }
+}
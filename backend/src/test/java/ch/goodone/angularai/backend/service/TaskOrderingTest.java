@@ -0,0 +1,111 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.Priority;
+import ch.goodone.angularai.backend.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskOrderingTest {
+
+    @Test
+    void between_ShouldSplitGapOrExtendEnds() {
+        assertEquals(512, TaskOrdering.between(0, 1024));
+        assertEquals(1024 + TaskOrdering.POSITION_GAP, TaskOrdering.between(1024, null));
+        assertEquals(-TaskOrdering.POSITION_GAP, TaskOrdering.between(null, 0));
+        assertEquals(0, TaskOrdering.between(null, null));
+        assertNull(TaskOrdering.between(3, 4));
+    }
+
+    @Test
+    void between_ShouldReturnNull_WhenEndsLeaveTheIntRange() {
+        assertNull(TaskOrdering.between(Integer.MAX_VALUE - 1, null));
+        assertNull(TaskOrdering.between(null, Integer.MIN_VALUE + 1));
+        assertEquals(Integer.MAX_VALUE - 1, TaskOrdering.between(Integer.MAX_VALUE - 2, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void append_ShouldReturnNull_WhenLastPositionWouldOverflow() {
+        assertEquals(0, TaskOrdering.append(null, 3));
+        int last = Integer.MAX_VALUE - 2 * TaskOrdering.POSITION_GAP;
+        assertEquals(last + TaskOrdering.POSITION_GAP, TaskOrdering.append(last, 2));
+        assertNull(TaskOrdering.append(last, 3));
+    }
+
+    @Test
+    void applyOrder_ShouldRespace_WhenAppendedTasksWouldOverflow() {
+        List<Task> ordered = tasks(0, Integer.MAX_VALUE - 10, null);
+
+        TaskOrdering.applyOrder(ordered);
+
+        assertSorted(ordered);
+        assertEquals(2 * TaskOrdering.POSITION_GAP, ordered.get(2).getPosition());
+    }
+
+    @Test
+    void applyOrder_ShouldOnlyMoveTasksOutsideLongestSortedRun() {
+        List<Task> tasks = tasks(0, 1024, 2048, 3072, 4096);
+        List<Task> ordered = Arrays.asList(tasks.get(4), tasks.get(0), tasks.get(1), tasks.get(2), tasks.get(3));
+
+        TaskOrdering.Placement placement = TaskOrdering.applyOrder(ordered);
+
+        assertEquals(List.of(tasks.get(4)), placement.changed());
+        assertFalse(placement.tight());
+        assertSorted(ordered);
+    }
+
+    @Test
+    void applyOrder_ShouldPlaceRunsAndNullPositions() {
+        List<Task> tasks = tasks(0, null, 100, 200, null);
+        List<Task> ordered = Arrays.asList(tasks.get(0), tasks.get(4), tasks.get(1), tasks.get(3), tasks.get(2));
+
+        TaskOrdering.Placement placement = TaskOrdering.applyOrder(ordered);
+
+        assertEquals(3, placement.changed().size());
+        assertSorted(ordered);
+    }
+
+    @Test
+    void applyOrder_ShouldRespace_WhenGapIsExhausted() {
+        List<Task> tasks = tasks(0, 1, 2);
+        List<Task> ordered = Arrays.asList(tasks.get(0), tasks.get(2), tasks.get(1));
+
+        TaskOrdering.applyOrder(ordered);
+
+        assertSorted(ordered);
+        assertEquals(TaskOrdering.POSITION_GAP, ordered.get(1).getPosition() - ordered.get(0).getPosition());
+    }
+
+    @Test
+    void applyOrder_ShouldFlagTightGaps() {
+        List<Task> tasks = tasks(0, 10, 20);
+        List<Task> ordered = Arrays.asList(tasks.get(0), tasks.get(2), tasks.get(1));
+
+        assertTrue(TaskOrdering.applyOrder(ordered).tight());
+        assertSorted(ordered);
+    }
+
+    private List<Task> tasks(Integer... positions) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < positions.length; i++) {
+            Task task = new Task("Task " + i, "", null, Priority.LOW, null);
+            task.setId((long) i);
+            task.setPosition(positions[i]);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private void assertSorted(List<Task> ordered) {
+        for (int i = 1; i < ordered.size(); i++) {
+            assertTrue(ordered.get(i - 1).getPosition() < ordered.get(i).getPosition(), "positions not increasing at " + i);
+        }
+    }
+}
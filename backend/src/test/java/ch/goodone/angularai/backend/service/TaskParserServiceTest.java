@@ -206,4 +206,33 @@ class TaskParserServiceTest {
         var resultDash = service.parse("Task 10-25");
         assertThat(resultDash.dueDate()).isEqualTo(LocalDate.of(currentYear, 10, 25));
     }
+
+    @Test
+    void shouldIgnoreImpossibleCalendarDates() {
+        var csv = service.parse("Report, finance, 31.02.2026, high, done");
+        assertThat(csv.dueDate()).isNull();
+        assertThat(csv.priority()).isEqualTo(Priority.HIGH);
+        assertThat(csv.status()).isEqualTo(TaskStatus.DONE);
+
+        var heuristic = service.parse("Report 2026-13-01");
+        assertThat(heuristic.title()).isEqualTo("Report 2026-13-01");
+        assertThat(heuristic.dueDate()).isNull();
+    }
+
+    @Test
+    void shouldKeepOrdinaryWordsAndNumbersInTitle() {
+        var result = service.parse("Read chapter 12345678901 days later");
+        assertThat(result.title()).isEqualTo("Read chapter 12345678901 days later");
+        assertThat(result.dueDate()).isNull();
+        assertThat(result.priority()).isEqualTo(Priority.MEDIUM);
+        assertThat(result.status()).isEqualTo(TaskStatus.OPEN);
+    }
+
+    @Test
+    void shouldRecognizeMultiWordStatus() {
+        var result = service.parse("Write report high in progress");
+        assertThat(result.title()).isEqualTo("Write report");
+        assertThat(result.priority()).isEqualTo(Priority.HIGH);
+        assertThat(result.status()).isEqualTo(TaskStatus.IN_PROGRESS);
+    }
 }
@@ -0,0 +1,111 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.Priority;
+import ch.goodone.angularai.backend.model.Task;
+import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.TaskRepository;
+import ch.goodone.angularai.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskSearchIndexTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private TaskSearchIndex index;
+    private User user;
+    private Task report;
+    private Task reportDraft;
+    private Task shopping;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex(taskRepository, 10, 600_000);
+        user = userRepository.save(new User("search", "search@example.com"));
+        User other = userRepository.save(new User("other", "other@example.com"));
+        taskRepository.save(new Task("Report for other", "", null, Priority.LOW, other));
+        report = save("Quarterly report", "Send to finance", List.of("work"));
+        reportDraft = save("Draft", "Outline of the reporting process", List.of("work", "report"));
+        shopping = save("Buy groceries", "Milk, bread", List.of("home"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void search_shouldRankTitleAndWholeWordMatchesFirst() {
+        TaskSearchIndex.SearchHits hits = index.search(user, "report", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.taskIds()).containsExactly(report.getId(), reportDraft.getId());
+    }
+
+    @Test
+    void search_shouldMatchPrefixesAndRequireAllTerms() {
+        assertThat(index.search(user, "groc", 0, 10).taskIds()).containsExactly(shopping.getId());
+        assertThat(index.search(user, "WORK fin", 0, 10).taskIds()).containsExactly(report.getId());
+        assertThat(index.search(user, "work home", 0, 10).total()).isZero();
+        assertThat(index.search(user, "  ,. ", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void search_shouldPageThroughRankedHits() {
+        TaskSearchIndex.SearchHits second = index.search(user, "work", 1, 1);
+
+        assertThat(second.total()).isEqualTo(2);
+        assertThat(second.taskIds()).hasSize(1).doesNotContain(index.search(user, "work", 0, 1).taskIds().getFirst());
+    }
+
+    @Test
+    void taskWrites_shouldUpdateBuiltIndex() {
+        index.search(user, "anything", 0, 10);
+
+        shopping.setTitle("Buy a new laptop");
+        index.taskSaved(shopping);
+        index.taskDeleted(report);
+        Task added = save("Laptop setup", "", List.of());
+        index.taskSaved(added);
+
+        assertThat(index.search(user, "laptop", 0, 10).taskIds()).containsExactlyInAnyOrder(shopping.getId(), added.getId());
+        assertThat(index.search(user, "groceries", 0, 10).total()).isZero();
+        assertThat(index.search(user, "quarterly", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void tasksChanged_shouldReloadIndexOnNextSearch() {
+        assertThat(index.search(user, "imported", 0, 10).total()).isZero();
+        Task imported = save("Imported row", "", List.of());
+
+        assertThat(index.search(user, "imported", 0, 10).total()).isZero();
+        index.tasksChanged(user);
+        assertThat(index.search(user, "imported", 0, 10).taskIds()).containsExactly(imported.getId());
+    }
+
+    private Task save(String title, String description, List<String> tags) {
+        Task task = new Task(title, description, null, Priority.MEDIUM, user);
+        task.setTags(new ArrayList<>(tags));
+        return taskRepository.save(task);
+    }
+}
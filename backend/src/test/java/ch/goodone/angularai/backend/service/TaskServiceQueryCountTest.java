@@ -0,0 +1,170 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.dto.TaskDTO;
+import ch.goodone.angularai.backend.model.Priority;
+import ch.goodone.angularai.backend.model.Task;
+import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.TaskRepository;
+import ch.goodone.angularai.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TaskService.class, TaskPositionRebalancer.class})
+class TaskServiceQueryCountTest {
+
+    @MockitoBean
+    private ActionLogService actionLogService;
+
+    @MockitoBean
+    private DashboardCounters dashboardCounters;
+
+    @MockitoBean
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("counter", "counter@example.com"));
+    }
+
+    @Test
+    void getTasks_shouldUseConstantStatementCount() {
+        createTasks(3);
+        long smallList = countStatements(() -> assertThat(taskService.getTasks(user, null, null, null)).hasSize(3));
+
+        createTasks(30);
+        long largeList = countStatements(() -> {
+            List<TaskDTO> tasks = taskService.getTasks(user, null, null, null);
+            assertThat(tasks).hasSize(33);
+            assertThat(tasks).allSatisfy(t -> assertThat(t.getTags()).containsExactlyInAnyOrder("a", "b"));
+        });
+
+        assertThat(largeList).isEqualTo(smallList);
+    }
+
+    @Test
+    void getTaskPage_shouldUseConstantStatementCount() {
+        createTasks(3);
+        long smallPage = countStatements(() -> assertThat(taskService.getTaskPage(user, null, null, null, null, 50).getItems()).hasSize(3));
+
+        createTasks(30);
+        long largePage = countStatements(() -> assertThat(taskService.getTaskPage(user, null, null, null, null, 50).getItems()).hasSize(33));
+
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    void createTask_shouldNotLoadExistingTasks() {
+        createTasks(3);
+        TaskDTO dto = new TaskDTO();
+        dto.setTitle("Next");
+        long smallList = countStatements(() -> assertThat(taskService.createTask(user, dto).getPosition()).isEqualTo(3 * TaskOrdering.POSITION_GAP));
+
+        createTasks(30);
+        long largeList = countStatements(() -> assertThat(taskService.createTask(user, dto).getPosition()).isEqualTo(30 * TaskOrdering.POSITION_GAP));
+
+        assertThat(largeList).isEqualTo(smallList);
+        assertThat(statistics().getEntityLoadCount()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void moveTask_shouldUpdateOnlyMovedTask() {
+        List<Long> ids = createTasks(20);
+        User managedUser = userRepository.findById(user.getId()).orElseThrow();
+
+        taskService.moveTask(managedUser, ids.get(15), ids.get(2));
+        entityManager.flush();
+
+        assertThat(statistics().getEntityUpdateCount()).isEqualTo(1);
+        assertThat(taskService.getTasks(managedUser, null, null, null)).extracting(TaskDTO::getId)
+                .startsWith(ids.get(0), ids.get(1), ids.get(2), ids.get(15), ids.get(3));
+    }
+
+    @Test
+    void reorderTasks_shouldUpdateOnlyMovedTasks() {
+        List<Long> ids = createTasks(20);
+        User managedUser = userRepository.findById(user.getId()).orElseThrow();
+        List<Long> reordered = new ArrayList<>(ids);
+        reordered.add(0, reordered.remove(10));
+
+        taskService.reorderTasks(managedUser, reordered);
+        entityManager.flush();
+
+        assertThat(statistics().getEntityUpdateCount()).isEqualTo(1);
+        assertThat(taskService.getTasks(managedUser, null, null, null)).extracting(TaskDTO::getId).containsExactlyElementsOf(reordered);
+    }
+
+    @Test
+    void bulkPatchTasks_shouldLoadTagsOnce() {
+        List<Long> ids = createTasks(10);
+        User managedUser = userRepository.findById(user.getId()).orElseThrow();
+        TaskDTO patch = new TaskDTO();
+        patch.setPriority(Priority.HIGH);
+
+        List<TaskDTO> result = taskService.bulkPatchTasks(managedUser, ids, patch);
+        entityManager.flush();
+
+        assertThat(result).hasSize(10);
+        assertThat(result).allSatisfy(t -> assertThat(t.getTags()).containsExactlyInAnyOrder("a", "b"));
+        assertThat(statistics().getCollectionLoadCount()).isZero();
+    }
+
+    private List<Long> createTasks(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Task " + i, "", null, Priority.MEDIUM, user);
+            task.setPosition(i * TaskOrdering.POSITION_GAP);
+            task.setTags(new ArrayList<>(List.of("a", "b")));
+            ids.add(taskRepository.save(task).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+        return ids;
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        statistics().clear();
+        action.run();
+        return statistics().getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -1,11 +1,18 @@
 package ch.goodone.angularai.backend.service;
 
 import ch.goodone.angularai.backend.dto.TaskDTO;
+import ch.goodone.angularai.backend.dto.TaskMetricsDTO;
+import ch.goodone.angularai.backend.dto.TaskPageDTO;
+import ch.goodone.angularai.backend.dto.TaskSearchResultDTO;
 import ch.goodone.angularai.backend.model.Priority;
 import ch.goodone.angularai.backend.model.Task;
 import ch.goodone.angularai.backend.model.TaskStatus;
 import ch.goodone.angularai.backend.model.User;
+import ch.goodone.angularai.backend.repository.TagCount;
+import ch.goodone.angularai.backend.repository.TaskKeyset;
+import ch.goodone.angularai.backend.repository.TaskMetricsCount;
 import ch.goodone.angularai.backend.repository.TaskRepository;
+import ch.goodone.angularai.backend.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +26,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,9 +39,21 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
     @Mock
     private ActionLogService actionLogService;
 
+    @Mock
+    private TaskPositionRebalancer positionRebalancer;
+
+    @Mock
+    private DashboardCounters dashboardCounters;
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -60,6 +80,18 @@ class TaskServiceTest {
         assertNotNull(tasks);
         assertEquals(1, tasks.size());
         assertEquals("Test Task", tasks.get(0).getTitle());
+        verify(taskRepository).findTagsByUser(testUser);
+        verify(taskRepository, never()).findTagsByTaskIds(any());
+    }
+
+    @Test
+    void getTasks_ShouldLoadTagsByIdWhenFiltered() {
+        when(taskRepository.findAll(any(Specification.class), any(Sort.class))).thenReturn(List.of(testTask));
+
+        taskService.getTasks(testUser, null, "today", null);
+
+        verify(taskRepository).findTagsByTaskIds(List.of(100L));
+        verify(taskRepository, never()).findTagsByUser(any());
     }
 
     @Test
@@ -76,6 +108,39 @@ class TaskServiceTest {
         verify(taskRepository, times(6)).findAll(any(Specification.class), any(Sort.class));
     }
 
+    @Test
+    void getTaskPage_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        TaskDTO first = new TaskDTO(1L, "First", "", null, Priority.LOW, "OPEN", 0);
+        TaskDTO second = new TaskDTO(2L, "Second", "", null, Priority.LOW, "OPEN", 1);
+        TaskDTO third = new TaskDTO(3L, "Third", "", null, Priority.LOW, "OPEN", 2);
+        when(taskRepository.findByKeyset(any(Specification.class), any(TaskKeyset.class), eq(3)))
+                .thenReturn(new ArrayList<>(List.of(first, second, third)));
+
+        TaskPageDTO page = taskService.getTaskPage(testUser, null, null, null, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(new TaskKeyset(TaskKeyset.Column.POSITION, 1, 2L), TaskKeyset.decode(TaskKeyset.Column.POSITION, page.getNextCursor()));
+    }
+
+    @Test
+    void getTaskPage_ShouldOmitCursorOnLastPage() {
+        TaskDTO only = new TaskDTO(1L, "Only", "", LocalDate.now(), Priority.LOW, "OPEN", 0);
+        String cursor = new TaskKeyset(TaskKeyset.Column.DUE_DATE, LocalDate.now(), 0L).encode();
+        when(taskRepository.findByKeyset(any(Specification.class), any(TaskKeyset.class), anyInt())).thenReturn(List.of(only));
+
+        TaskPageDTO page = taskService.getTaskPage(testUser, "OPEN", "ALL", "DUE_ASC", cursor, 50);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getTaskPage_ShouldRejectCursorOfDifferentSort() {
+        String cursor = new TaskKeyset(TaskKeyset.Column.POSITION, 1, 2L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTaskPage(testUser, null, null, "UPDATED_DESC", cursor, 10));
+    }
+
     @Test
     void updateTask_ShouldReturnEmpty_WhenNotFound() {
         when(taskRepository.findById(999L)).thenReturn(Optional.empty());
@@ -120,7 +185,7 @@ class TaskServiceTest {
 
     @Test
     void createTask_WithNullStatusAndTags() {
-        when(taskRepository.findByUserOrderByPositionAsc(testUser)).thenReturn(List.of());
+        when(taskRepository.findMaxPositionByUser(testUser)).thenReturn(null);
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
         TaskDTO dto = new TaskDTO();
@@ -134,7 +199,7 @@ class TaskServiceTest {
 
     @Test
     void createTask_ShouldSaveTask() {
-        when(taskRepository.findByUserOrderByPositionAsc(testUser)).thenReturn(new ArrayList<>());
+        when(taskRepository.findMaxPositionByUser(testUser)).thenReturn(null);
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
         TaskDTO dto = new TaskDTO();
@@ -149,6 +214,67 @@ class TaskServiceTest {
         verify(actionLogService).log(eq("testuser"), eq("TASK_ADDED"), anyString());
     }
 
+    @Test
+    void createTasks_ShouldLockOnceAndAppendInOrder() {
+        when(taskRepository.findMaxPositionByUser(testUser)).thenReturn(7);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskDTO first = new TaskDTO();
+        first.setTitle("First");
+        first.setStatus("DONE");
+        TaskDTO second = new TaskDTO();
+        second.setTitle("Second");
+
+        List<TaskDTO> result = taskService.createTasks(testUser, List.of(first, second));
+
+        assertEquals(List.of("First", "Second"), result.stream().map(TaskDTO::getTitle).toList());
+        assertEquals(List.of(7 + TaskOrdering.POSITION_GAP, 7 + 2 * TaskOrdering.POSITION_GAP),
+                result.stream().map(TaskDTO::getPosition).toList());
+        assertEquals("DONE", result.get(0).getStatus());
+        verify(userRepository, times(1)).findByIdForUpdate(1L);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(dashboardCounters, times(2)).taskCreated(any(Task.class));
+        verify(searchIndex, times(2)).taskSaved(any(Task.class));
+        verify(actionLogService).log("testuser", "TASK_BULK_ADDED", "Created 2 tasks");
+    }
+
+    @Test
+    void createTasks_ShouldDoNothingForEmptyBatch() {
+        assertTrue(taskService.createTasks(testUser, List.of()).isEmpty());
+        verifyNoInteractions(taskRepository, userRepository, actionLogService);
+    }
+
+    @Test
+    void createTask_ShouldAppendAfterMaxPositionUnderUserLock() {
+        when(taskRepository.findMaxPositionByUser(testUser)).thenReturn(7);
+        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+
+        TaskDTO dto = new TaskDTO();
+        dto.setTitle("Appended");
+
+        taskService.createTask(testUser, dto);
+
+        var inOrder = inOrder(userRepository, taskRepository);
+        inOrder.verify(userRepository).findByIdForUpdate(1L);
+        inOrder.verify(taskRepository).findMaxPositionByUser(testUser);
+        inOrder.verify(taskRepository).save(argThat(t -> t.getPosition() == 7 + TaskOrdering.POSITION_GAP));
+        verify(taskRepository, never()).findByUserOrderByPositionAsc(any());
+    }
+
+    @Test
+    void createTask_ShouldRespace_WhenNextPositionWouldOverflow() {
+        when(taskRepository.findMaxPositionByUser(testUser)).thenReturn(Integer.MAX_VALUE - 1, 2048);
+        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+
+        TaskDTO dto = new TaskDTO();
+        dto.setTitle("Appended");
+
+        taskService.createTask(testUser, dto);
+
+        verify(positionRebalancer).rebalance(testUser);
+        verify(taskRepository).save(argThat(t -> t.getPosition() == 2048 + TaskOrdering.POSITION_GAP));
+    }
+
     @Test
     void updateTask_ShouldUpdateExistingTask() {
         when(taskRepository.findById(100L)).thenReturn(Optional.of(testTask));
@@ -165,6 +291,7 @@ class TaskServiceTest {
         assertEquals("Updated Title", result.get().getTitle());
         verify(taskRepository).save(testTask);
         verify(actionLogService).log(eq("testuser"), eq("TASK_UPDATED"), anyString());
+        verify(dashboardCounters).taskStatusChanged(testTask, TaskStatus.OPEN);
     }
 
     @Test
@@ -211,8 +338,85 @@ class TaskServiceTest {
         taskService.reorderTasks(testUser, Arrays.asList(101L, 100L));
 
         verify(taskRepository).saveAll(any());
-        assertEquals(1, testTask.getPosition());
-        assertEquals(0, task2.getPosition());
+        assertTrue(task2.getPosition() < testTask.getPosition());
+    }
+
+    @Test
+    void reorderTasks_ShouldOnlySaveMovedTask() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Task task = new Task("Task " + i, "", null, Priority.LOW, testUser);
+            task.setId(200L + i);
+            task.setPosition(i * TaskOrdering.POSITION_GAP);
+            tasks.add(task);
+        }
+        when(taskRepository.findByUserOrderByPositionAsc(testUser)).thenReturn(tasks);
+
+        taskService.reorderTasks(testUser, Arrays.asList(200L, 203L, 201L, 202L, 204L));
+
+        verify(taskRepository).saveAll(List.of(tasks.get(3)));
+        int movedPosition = tasks.get(3).getPosition();
+        assertTrue(movedPosition > tasks.get(0).getPosition() && movedPosition < tasks.get(1).getPosition());
+        verify(positionRebalancer, never()).requestRebalance(any());
+    }
+
+    @Test
+    void moveTask_ShouldPlaceBetweenNeighbours() {
+        Task after = new Task("After", "", null, Priority.LOW, testUser);
+        after.setId(101L);
+        after.setPosition(1024);
+        Task next = new Task("Next", "", null, Priority.LOW, testUser);
+        next.setId(102L);
+        next.setPosition(2048);
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findById(101L)).thenReturn(Optional.of(after));
+        when(taskRepository.findFirstByUserAndPositionGreaterThanOrderByPositionAscIdAsc(testUser, 1024)).thenReturn(Optional.of(next));
+
+        Optional<TaskDTO> result = taskService.moveTask(testUser, 100L, 101L);
+
+        assertTrue(result.isPresent());
+        assertEquals(1536, testTask.getPosition());
+        verify(userRepository).findByIdForUpdate(1L);
+        verify(taskRepository).save(testTask);
+        verify(taskRepository, never()).saveAll(any());
+        verify(actionLogService).log(eq("testuser"), eq("TASK_MOVED"), anyString());
+    }
+
+    @Test
+    void moveTask_ShouldRebalance_WhenGapIsExhausted() {
+        Task first = new Task("First", "", null, Priority.LOW, testUser);
+        first.setId(101L);
+        first.setPosition(-5);
+        Task second = new Task("Second", "", null, Priority.LOW, testUser);
+        second.setId(102L);
+        second.setPosition(-4);
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findById(101L)).thenReturn(Optional.of(first));
+        when(taskRepository.findFirstByUserAndPositionGreaterThanOrderByPositionAscIdAsc(eq(testUser), anyInt())).thenReturn(Optional.of(second));
+        doAnswer(invocation -> {
+            first.setPosition(0);
+            second.setPosition(1024);
+            testTask.setPosition(2048);
+            return 3;
+        }).when(positionRebalancer).rebalance(testUser);
+
+        taskService.moveTask(testUser, 100L, 101L);
+
+        verify(positionRebalancer).rebalance(testUser);
+        assertEquals(512, testTask.getPosition());
+    }
+
+    @Test
+    void moveTask_ShouldReturnEmpty_WhenAnchorBelongsToOtherUser() {
+        User otherUser = new User("other", "other@example.com");
+        otherUser.setId(2L);
+        Task foreign = new Task("Foreign", "", null, Priority.LOW, otherUser);
+        foreign.setId(300L);
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findById(300L)).thenReturn(Optional.of(foreign));
+
+        assertTrue(taskService.moveTask(testUser, 100L, 300L).isEmpty());
+        verify(taskRepository, never()).save(any());
     }
 
     @Test
@@ -225,6 +429,48 @@ class TaskServiceTest {
         verify(taskRepository).delete(testTask);
     }
 
+    @Test
+    void getTaskMetrics_ShouldAggregateGroupedCounts() {
+        when(taskRepository.countMetricsByUser(eq(testUser), any())).thenReturn(List.of(
+                new TaskMetricsCount(TaskStatus.OPEN, Priority.HIGH, 3L, 2L),
+                new TaskMetricsCount(TaskStatus.OPEN, Priority.LOW, 1L, 0L),
+                new TaskMetricsCount(TaskStatus.DONE, Priority.HIGH, 4L, 1L)));
+        when(taskRepository.countTagsByUser(testUser)).thenReturn(List.of(new TagCount("work", 5L)));
+
+        TaskMetricsDTO metrics = taskService.getTaskMetrics(testUser);
+
+        assertEquals(8, metrics.getTotal());
+        assertEquals(4, metrics.getCompleted());
+        assertEquals(2, metrics.getOverdue());
+        assertEquals(4L, metrics.getByStatus().get("DONE"));
+        assertEquals(4L, metrics.getByStatus().get("OPEN"));
+        assertEquals(0L, metrics.getByStatus().get("IN_PROGRESS"));
+        assertEquals(7L, metrics.getByPriority().get("HIGH"));
+        assertEquals(Map.of("work", 5L), metrics.getByTag());
+    }
+
+    @Test
+    void searchTasks_ShouldReturnTasksInRankOrder() {
+        Task other = new Task("Other", "", null, Priority.LOW, testUser);
+        other.setId(101L);
+        when(searchIndex.search(testUser, "task", 0, 20)).thenReturn(new TaskSearchIndex.SearchHits(List.of(101L, 100L), 2));
+        when(taskRepository.findAllById(List.of(101L, 100L))).thenReturn(List.of(testTask, other));
+
+        TaskSearchResultDTO result = taskService.searchTasks(testUser, "task", -5, 20);
+
+        assertEquals(2, result.getTotal());
+        assertEquals(List.of(101L, 100L), result.getItems().stream().map(TaskDTO::getId).toList());
+    }
+
+    @Test
+    void deleteTask_ShouldRemoveFromSearchIndex() {
+        when(taskRepository.findById(100L)).thenReturn(Optional.of(testTask));
+
+        taskService.deleteTask(testUser, 100L);
+
+        verify(searchIndex).taskDeleted(testTask);
+    }
+
     @Test
     void bulkDeleteTasks_ShouldRemoveMultipleTasks() {
         when(taskRepository.findAllById(any())).thenReturn(List.of(testTask));
@@ -0,0 +1,70 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.model.Priority;
+import ch.goodone.angularai.backend.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskVocabularyTest {
+
+    @Test
+    void scan_shouldFindSingleAndMultiWordPhrases() {
+        TaskVocabulary vocabulary = TaskVocabulary.load();
+
+        List<List<TaskVocabulary.Match>> matches = vocabulary.scan(new String[]{"report", "in", "3", "tagen", "in", "progress"});
+
+        assertThat(matches.get(3)).containsExactly(
+                new TaskVocabulary.Match(1, 3, TaskVocabulary.Kind.DAYS, 3),
+                new TaskVocabulary.Match(2, 3, TaskVocabulary.Kind.DAYS, 3));
+        assertThat(matches.get(5)).containsExactly(
+                new TaskVocabulary.Match(4, 5, TaskVocabulary.Kind.STATUS, TaskStatus.IN_PROGRESS),
+                new TaskVocabulary.Match(5, 5, TaskVocabulary.Kind.STATUS, TaskStatus.IN_PROGRESS));
+        assertThat(matches.get(0)).isEmpty();
+    }
+
+    @Test
+    void lookup_shouldOnlyMatchWholePhrase() {
+        TaskVocabulary vocabulary = TaskVocabulary.load();
+
+        assertThat(vocabulary.lookup(new String[]{"nächste", "woche"}, TaskVocabulary.Kind.DAYS)).isEqualTo(7);
+        assertThat(vocabulary.lookup(new String[]{"dringend"}, TaskVocabulary.Kind.PRIORITY)).isEqualTo(Priority.HIGH);
+        assertThat(vocabulary.lookup(new String[]{"dringend"}, TaskVocabulary.Kind.STATUS)).isNull();
+        assertThat(vocabulary.lookup(new String[]{"next", "week", "please"}, TaskVocabulary.Kind.DAYS)).isNull();
+    }
+
+    @Test
+    void parser_shouldUnderstandNewLocaleWithoutCodeChanges() {
+        Properties french = new Properties();
+        french.setProperty("priority.HIGH", "urgent, très important");
+        french.setProperty("status.DONE", "terminé");
+        french.setProperty("days.1", "demain");
+        french.setProperty("days.n", "dans <n> jour*");
+        TaskParserService parser = new TaskParserService(TaskVocabulary.compile(List.of(french)));
+
+        var result = parser.parse("Appeler Marie dans 2 jours très important terminé");
+
+        assertThat(result.title()).isEqualTo("Appeler Marie");
+        assertThat(result.dueDate()).isEqualTo(LocalDate.now().plusDays(2));
+        assertThat(result.priority()).isEqualTo(Priority.HIGH);
+        assertThat(result.status()).isEqualTo(TaskStatus.DONE);
+    }
+
+    @Test
+    void compile_shouldRejectInvalidEntries() {
+        assertThrows(IllegalArgumentException.class, () -> compile("priority.URGENT", "urgent"));
+        assertThrows(IllegalArgumentException.class, () -> compile("days.n", "some days"));
+        assertThrows(IllegalArgumentException.class, () -> compile("colour.RED", "red"));
+    }
+
+    private TaskVocabulary compile(String key, String phrases) {
+        Properties properties = new Properties();
+        properties.setProperty(key, phrases);
+        return TaskVocabulary.compile(List.of(properties));
+    }
+}
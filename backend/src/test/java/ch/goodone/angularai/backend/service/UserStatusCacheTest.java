@@ -0,0 +1,71 @@
+package ch.goodone.angularai.backend.service;
+
+import ch.goodone.angularai.backend.dto.UserAuthState;
+import ch.goodone.angularai.backend.model.Role;
+import ch.goodone.angularai.backend.model.UserStatus;
+import ch.goodone.angularai.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void get_ShouldLoadStateOnceWithinTtl() {
+        UserAuthState state = new UserAuthState(1L, UserStatus.ACTIVE, Role.ROLE_USER);
+        when(userRepository.findAuthStateByLogin("user")).thenReturn(Optional.of(state));
+        UserStatusCache cache = new UserStatusCache(userRepository, 30, 100, true);
+
+        assertEquals(Optional.of(state), cache.get("user"));
+        assertEquals(Optional.of(state), cache.get("user"));
+
+        verify(userRepository, times(1)).findAuthStateByLogin("user");
+    }
+
+    @Test
+    void get_ShouldCacheUnknownUsers() {
+        when(userRepository.findAuthStateByLogin("ghost")).thenReturn(Optional.empty());
+        UserStatusCache cache = new UserStatusCache(userRepository, 30, 100, true);
+
+        assertTrue(cache.get("ghost").isEmpty());
+        assertTrue(cache.get("ghost").isEmpty());
+
+        verify(userRepository, times(1)).findAuthStateByLogin("ghost");
+    }
+
+    @Test
+    void roleChanged_ShouldForceReload_WhenEnabled() {
+        when(userRepository.findAuthStateByLogin("user"))
+                .thenReturn(Optional.of(new UserAuthState(1L, UserStatus.ACTIVE, Role.ROLE_USER)))
+                .thenReturn(Optional.of(new UserAuthState(1L, UserStatus.ACTIVE, Role.ROLE_ADMIN)));
+        UserStatusCache cache = new UserStatusCache(userRepository, 30, 100, true);
+        cache.get("user");
+
+        cache.roleChanged("user");
+
+        assertEquals(Role.ROLE_ADMIN, cache.get("user").orElseThrow().role());
+    }
+
+    @Test
+    void roleChanged_ShouldKeepEntryUntilExpiry_WhenDisabled() {
+        when(userRepository.findAuthStateByLogin("user"))
+                .thenReturn(Optional.of(new UserAuthState(1L, UserStatus.ACTIVE, Role.ROLE_USER)));
+        UserStatusCache cache = new UserStatusCache(userRepository, 30, 100, false);
+        cache.get("user");
+
+        cache.roleChanged("user");
+
+        assertEquals(Role.ROLE_USER, cache.get("user").orElseThrow().role());
+        verify(userRepository, times(1)).findAuthStateByLogin("user");
+    }
+}